@@ -0,0 +1,58 @@
+package me.kwakinsung.smresume.app.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// 분석 결과 Map <-> JSON (모델 응답 파싱, S3 저장, 결과 캐시 로드에서 사용)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnalysisResultJsonBenchmark {
+
+    private static final TypeReference<Map<String, Map<String, String>>> RESULT_TYPE = new TypeReference<>() {};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Map<String, Map<String, String>> result;
+    private byte[] json;
+    private String jsonText;
+
+    @Setup
+    public void setUp() throws IOException {
+        jsonText = ResumeFixtures.resource("/fixtures/analysis-result.json");
+        json = jsonText.getBytes(StandardCharsets.UTF_8);
+        result = objectMapper.readValue(json, RESULT_TYPE);
+    }
+
+    @Benchmark
+    public byte[] serializeToBytes() throws IOException {
+        return objectMapper.writeValueAsBytes(result);
+    }
+
+    @Benchmark
+    public Map<String, Map<String, String>> parseBytes() throws IOException {
+        return objectMapper.readValue(json, RESULT_TYPE);
+    }
+
+    @Benchmark
+    public Map<String, Map<String, String>> parseString() throws IOException {
+        return objectMapper.readValue(jsonText, RESULT_TYPE);
+    }
+}
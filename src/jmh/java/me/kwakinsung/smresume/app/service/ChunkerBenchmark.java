@@ -0,0 +1,52 @@
+package me.kwakinsung.smresume.app.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 추출한 텍스트의 정리 + 청크 분할 (기존 splitText 를 대체한 ResumeTextChunker)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChunkerBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public ResumeFixtures.Size size;
+
+    private final ResumeTextChunker chunker = new ResumeTextChunker(2500);
+    private String text;
+
+    @Setup
+    public void setUp() {
+        text = ResumeFixtures.text(size);
+    }
+
+    @Benchmark
+    public String clean() {
+        return chunker.clean(text);
+    }
+
+    @Benchmark
+    public List<String> chunk() {
+        return chunker.chunk(text);
+    }
+
+    @Benchmark
+    public int estimateTokens() {
+        return ResumeTextChunker.estimateTokens(text);
+    }
+}
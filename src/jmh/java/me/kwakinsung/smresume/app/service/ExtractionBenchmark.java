@@ -0,0 +1,81 @@
+package me.kwakinsung.smresume.app.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// 업로드 파일 텍스트 추출 (ResumeTextExtractor.extractText, 분석 작업의 첫 단계)
+// 같은 내용을 txt/pdf/docx 로 저장해 형식별 비용을 비교합니다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExtractionBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public ResumeFixtures.Size size;
+
+    @Param({"txt", "pdf", "docx"})
+    public String format;
+
+    private ResumeTextExtractor extractor;
+    private Path file;
+    private String contentType;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        extractor = new ResumeTextExtractor(new SimpleMeterRegistry());
+        // @Value 기본값과 같은 PDFBox 힙 한도 (스프링 없이 생성하므로 직접 설정)
+        Field maxMainMemoryBytes = ResumeTextExtractor.class.getDeclaredField("maxMainMemoryBytes");
+        maxMainMemoryBytes.setAccessible(true);
+        maxMainMemoryBytes.setLong(extractor, 8L * 1024 * 1024);
+
+        String text = ResumeFixtures.text(size);
+        file = Files.createTempFile("resume-bench-", "." + format);
+        switch (format) {
+            case "txt" -> {
+                Files.writeString(file, text, StandardCharsets.UTF_8);
+                contentType = "text/plain";
+            }
+            case "pdf" -> {
+                ResumeFixtures.writePdf(text, file);
+                contentType = ResumeTextExtractor.CONTENT_TYPE_PDF;
+            }
+            case "docx" -> {
+                ResumeFixtures.writeDocx(text, file);
+                contentType = ResumeTextExtractor.CONTENT_TYPE_DOCX;
+            }
+            default -> throw new IllegalArgumentException(format);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public String extractText() throws IOException {
+        return extractor.extractText(file, contentType);
+    }
+}
@@ -0,0 +1,75 @@
+package me.kwakinsung.smresume.app.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// 분석 기록 조회 시 DynamoDB 항목 -> 화면용 Map 변환 (ResumeStorageService.toHistoryItem)
+// items = 한 사용자의 분석 기록 수 (페이지 크기 20, 전체 조회 200)
+// formatVersion = DynamoDB 항목 형식 (1 = 예전 전체 속성, 2 = 짧은 속성 + 경로를 만들어 쓰는 형식)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HistoryItemBenchmark {
+
+    @Param({"20", "200"})
+    public int items;
+
+    @Param({"1", "2"})
+    public int formatVersion;
+
+    private List<Map<String, AttributeValue>> dynamoItems;
+
+    @Setup
+    public void setUp() {
+        dynamoItems = new ArrayList<>(items);
+        long timestamp = 1_700_000_000L;
+        for (int i = 0; i < items; i++) {
+            String analysisId = UUID.randomUUID().toString();
+            Map<String, AttributeValue> item = new HashMap<>();
+            item.put("userId", AttributeValue.builder().s("bench-user").build());
+            item.put("analysisId", AttributeValue.builder().s(analysisId).build());
+            item.put("analysisTimestamp", AttributeValue.builder().n(Long.toString(timestamp - i * 3600L)).build());
+            if (formatVersion >= 2) {
+                item.put("fv", AttributeValue.builder().n("2").build());
+                item.put("fn", AttributeValue.builder().s("이력서_" + i + ".pdf").build());
+                item.put("tj", AttributeValue.builder().s("백엔드 개발자").build());
+                item.put("hr", AttributeValue.builder().bool(true).build());
+            } else {
+                item.put("originalFileName", AttributeValue.builder().s("이력서_" + i + ".pdf").build());
+                item.put("s3ResumePath", AttributeValue.builder().s("resumes/bench-user/" + analysisId + "/resume.pdf").build());
+                item.put("s3AnalysisResultPath", AttributeValue.builder().s("analysis-results/bench-user/" + analysisId + "/result.json").build());
+                item.put("targetJob", AttributeValue.builder().s("백엔드 개발자").build());
+            }
+            dynamoItems.add(item);
+        }
+    }
+
+    @Benchmark
+    public List<Map<String, String>> toHistoryItems() {
+        List<Map<String, String>> results = new ArrayList<>(dynamoItems.size());
+        for (Map<String, AttributeValue> item : dynamoItems) {
+            results.add(ResumeStorageService.toHistoryItem(item));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,118 @@
+package me.kwakinsung.smresume.app.service;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+// 벤치마크용 이력서 샘플 (src/test/resources/resumes 를 함께 사용)
+// SMALL  = 영문 이력서 1개 (약 2KB, 3페이지)
+// MEDIUM = 샘플 4개를 이어 붙인 것 (약 17KB)
+// LARGE  = MEDIUM x 6 (약 100KB, 포트폴리오가 긴 이력서)
+public final class ResumeFixtures {
+
+    public enum Size { SMALL, MEDIUM, LARGE }
+
+    private static final String[] CORPUS = {
+            "english_fullstack_pdf.txt",
+            "korean_backend_pdf.txt",
+            "korean_junior_plain.txt",
+            "docx_frontend_extract.txt"
+    };
+
+    private static final int PDF_LINES_PER_PAGE = 50;
+    private static final int PDF_LINE_WIDTH = 95;
+
+    private ResumeFixtures() {
+    }
+
+    static String text(Size size) {
+        return switch (size) {
+            case SMALL -> resource("/resumes/" + CORPUS[0]);
+            case MEDIUM -> medium();
+            case LARGE -> medium().repeat(6);
+        };
+    }
+
+    static String resource(String name) {
+        try (InputStream in = ResumeFixtures.class.getResourceAsStream(name)) {
+            if (in == null) {
+                throw new IllegalStateException("샘플 파일이 없습니다: " + name);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 텍스트를 PDF 로 저장합니다. 기본 Type1 글꼴은 한글을 쓸 수 없어 ASCII 밖의 문자는 '?' 로 바꿉니다.
+     */
+    static void writePdf(String text, Path target) throws IOException {
+        List<String> lines = wrap(text.replace('\f', '\n'));
+        try (PDDocument doc = new PDDocument()) {
+            for (int start = 0; start < lines.size(); start += PDF_LINES_PER_PAGE) {
+                PDPage page = new PDPage();
+                doc.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(doc, page)) {
+                    content.beginText();
+                    content.setFont(PDType1Font.HELVETICA, 10);
+                    content.setLeading(13);
+                    content.newLineAtOffset(50, 740);
+                    for (String line : lines.subList(start, Math.min(lines.size(), start + PDF_LINES_PER_PAGE))) {
+                        content.showText(line);
+                        content.newLine();
+                    }
+                    content.endText();
+                }
+            }
+            doc.save(target.toFile());
+        }
+    }
+
+    /**
+     * 텍스트를 줄마다 문단 하나인 DOCX 로 저장합니다.
+     */
+    static void writeDocx(String text, Path target) throws IOException {
+        try (XWPFDocument doc = new XWPFDocument();
+             OutputStream out = Files.newOutputStream(target)) {
+            for (String line : text.replace('\f', '\n').split("\n", -1)) {
+                doc.createParagraph().createRun().setText(line);
+            }
+            doc.write(out);
+        }
+    }
+
+    private static String medium() {
+        StringBuilder text = new StringBuilder();
+        for (String name : CORPUS) {
+            text.append(resource("/resumes/" + name)).append('\f');
+        }
+        return text.toString();
+    }
+
+    private static List<String> wrap(String text) {
+        List<String> lines = new ArrayList<>();
+        for (String line : text.split("\n", -1)) {
+            String ascii = line.replaceAll("[^\\x20-\\x7E]", "?");
+            if (ascii.isEmpty()) {
+                lines.add("");
+            }
+            for (int i = 0; i < ascii.length(); i += PDF_LINE_WIDTH) {
+                lines.add(ascii.substring(i, Math.min(ascii.length(), i + PDF_LINE_WIDTH)));
+            }
+        }
+        return lines;
+    }
+}
@@ -1,14 +1,85 @@
 package me.kwakinsung.smresume.app.config;
 
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.concurrent.ThreadPoolExecutor;
+
 @Configuration
 public class AppConfig {
+    // 범용 RestTemplate (OpenAI 호출은 OpenAiClientConfig 의 openaiRestTemplate 사용)
     @Bean
+    @Primary
     public RestTemplate restTemplate() {
         return new RestTemplate();
     }
+
+    // OpenAI 청크 요약 호출용 공용 스레드 풀
+    // 최대 스레드 수가 곧 서버 전체의 동시 OpenAI 호출 상한(global concurrency)이 됩니다.
+    @Bean
+    public ThreadPoolTaskExecutor openaiChunkExecutor(
+            @Value("${openai.chunk.global-concurrency:16}") int globalConcurrency,
+            @Value("${openai.chunk.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(globalConcurrency);
+        executor.setMaxPoolSize(globalConcurrency);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("openai-chunk-");
+        // 큐까지 가득 차면 요청 스레드가 직접 실행 -> 자연스러운 역압(backpressure)
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    // 이력서 분석 작업(추출 → OpenAI → 저장) 전용 스레드 풀
+    // Tomcat 요청 스레드는 작업 등록만 하고 바로 반환합니다. 큐까지 가득 차면 등록을 거절합니다.
+    @Bean
+    public ThreadPoolTaskExecutor analysisJobExecutor(
+            @Value("${analysis.job.workers:8}") int workers,
+            @Value("${analysis.job.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("analysis-job-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    // 일괄 분석(POST /resume/bulk) 전용 스레드 풀
+    // 대량 요청이 analysisJobExecutor 를 차지해 개별 사용자의 분석이 밀리지 않도록 따로 둡니다.
+    // 큐까지 가득 차면 해당 파일만 실패로 기록합니다.
+    @Bean
+    public ThreadPoolTaskExecutor bulkAnalysisExecutor(
+            @Value("${analysis.bulk.workers:4}") int workers,
+            @Value("${analysis.bulk.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("bulk-analysis-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    // S3 업로드(멀티파트 파트 병렬 전송 포함) 전용 스레드 풀
+    @Bean
+    public ThreadPoolTaskExecutor s3UploadExecutor(
+            @Value("${aws.s3.upload-concurrency:8}") int uploadConcurrency) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(uploadConcurrency);
+        executor.setMaxPoolSize(uploadConcurrency);
+        executor.setQueueCapacity(500);
+        executor.setThreadNamePrefix("s3-upload-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
 }
@@ -1,17 +1,26 @@
 package me.kwakinsung.smresume.app.config;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.core.retry.RetryMode;
+import software.amazon.awssdk.core.retry.RetryPolicy;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 
 //@Configuration 클래스를 만들어 S3와 DynamoDB 클라이언트를 Spring 빈으로 등록합니다.
+// storage.type=local 이면 등록하지 않으므로 AWS 자격 증명/버킷 없이도 기동됩니다.
 
 @Configuration
+@ConditionalOnProperty(name = "storage.type", havingValue = "s3", matchIfMissing = true)
 public class AwsConfig {
 
     @Value("${aws.accessKeyId}")
@@ -23,6 +32,9 @@ public class AwsConfig {
     @Value("${aws.region}")
     private String region;
 
+    @Value("${aws.max-retries:3}") // 스로틀링/일시 오류 시 SDK 재시도 횟수 (지수 백오프 + 지터)
+    private int maxRetries;
+
     @Bean
     public S3Client s3Client() {
         return S3Client.builder()
@@ -40,4 +52,41 @@ public class AwsConfig {
                         AwsBasicCredentials.create(accessKeyId, secretAccessKey)))
                 .build();
     }
+
+    // 분석 결과 저장을 요청 스레드와 분리하기 위한 비동기 클라이언트 (Netty NIO)
+    @Bean
+    public S3AsyncClient s3AsyncClient() {
+        return S3AsyncClient.builder()
+                .region(Region.of(region))
+                .credentialsProvider(StaticCredentialsProvider.create(
+                        AwsBasicCredentials.create(accessKeyId, secretAccessKey)))
+                .overrideConfiguration(retryConfiguration())
+                .build();
+    }
+
+    @Bean
+    public DynamoDbAsyncClient dynamoDbAsyncClient() {
+        return DynamoDbAsyncClient.builder()
+                .region(Region.of(region))
+                .credentialsProvider(StaticCredentialsProvider.create(
+                        AwsBasicCredentials.create(accessKeyId, secretAccessKey)))
+                .overrideConfiguration(retryConfiguration())
+                .build();
+    }
+
+    // 원본 이력서 다운로드용 pre-signed URL 서명 (네트워크 호출 없이 로컬에서 서명)
+    @Bean(destroyMethod = "close")
+    public S3Presigner s3Presigner() {
+        return S3Presigner.builder()
+                .region(Region.of(region))
+                .credentialsProvider(StaticCredentialsProvider.create(
+                        AwsBasicCredentials.create(accessKeyId, secretAccessKey)))
+                .build();
+    }
+
+    private ClientOverrideConfiguration retryConfiguration() {
+        return ClientOverrideConfiguration.builder()
+                .retryPolicy(RetryPolicy.builder(RetryMode.STANDARD).numRetries(maxRetries).build())
+                .build();
+    }
 }
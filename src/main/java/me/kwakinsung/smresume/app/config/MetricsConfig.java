@@ -0,0 +1,68 @@
+package me.kwakinsung.smresume.app.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import me.kwakinsung.smresume.app.service.AnalysisResultCache;
+import me.kwakinsung.smresume.app.service.AnalysisResultJsonCache;
+import me.kwakinsung.smresume.app.service.OpenAiHttpMetrics;
+import me.kwakinsung.smresume.app.service.OpenAiRateLimiter;
+import me.kwakinsung.smresume.app.service.PresignedUrlCache;
+import me.kwakinsung.smresume.app.service.UserCache;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+// 캐시/OpenAI 커넥션 풀/호출 한도의 현재 상태를 Micrometer 게이지로 노출 (/actuator/prometheus)
+// 단계별 지연 시간은 각 서비스에서 직접 기록합니다.
+//   resume.extraction, openai.request, storage.request, analysis.job (Timer)
+//   analysis.json.parse.failures (Counter)
+// 작업 스레드 풀(openaiChunkExecutor, analysisJobExecutor, bulkAnalysisExecutor, s3UploadExecutor)은 Spring Boot 가 executor.* 로 자동 등록합니다.
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder analysisCacheMetrics(AnalysisResultCache analysisResultCache,
+                                            ObjectProvider<AnalysisResultJsonCache> analysisResultJsonCache) {
+        return registry -> {
+            bindStats(registry, "analysis.cache", analysisResultCache::getStats);
+            // S3 저장소를 쓸 때만 등록됨 (storage.type=s3)
+            analysisResultJsonCache.ifAvailable(cache ->
+                    bindStats(registry, "analysis.result.cache", cache::getStats));
+        };
+    }
+
+    @Bean
+    public MeterBinder openAiMetrics(OpenAiHttpMetrics openAiHttpMetrics, OpenAiRateLimiter openAiRateLimiter) {
+        return registry -> {
+            bindStats(registry, "openai.http", openAiHttpMetrics::getStats);
+            bindStats(registry, "openai.rate.limit", openAiRateLimiter::getStats);
+        };
+    }
+
+    @Bean
+    public MeterBinder userCacheMetrics(UserCache userCache) {
+        return registry -> bindStats(registry, "user.cache", userCache::getStats);
+    }
+
+    @Bean
+    public MeterBinder presignedUrlMetrics(ObjectProvider<PresignedUrlCache> presignedUrlCache) {
+        return registry -> presignedUrlCache.ifAvailable(cache ->
+                bindStats(registry, "storage.presign", cache::getStats));
+    }
+
+    // getStats() 의 항목마다 게이지를 하나씩 등록 (스크레이프할 때마다 getStats() 를 다시 호출)
+    private static void bindStats(MeterRegistry registry, String prefix, Supplier<Map<String, Long>> stats) {
+        for (String name : stats.get().keySet()) {
+            Gauge.builder(prefix + "." + name, stats, supplier -> {
+                        Long value = supplier.get().get(name);
+                        return value == null ? Double.NaN : value;
+                    })
+                    .strongReference(true)
+                    .register(registry);
+        }
+    }
+}
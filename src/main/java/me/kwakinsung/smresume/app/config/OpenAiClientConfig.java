@@ -0,0 +1,83 @@
+package me.kwakinsung.smresume.app.config;
+
+import me.kwakinsung.smresume.app.service.OpenAiHttpMetrics;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.pool.PoolReusePolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+// OpenAI 호출 전용 HTTP 클라이언트 (Apache HttpClient 5 커넥션 풀)
+// 청크 요약마다 새 TCP/TLS 연결을 맺지 않도록 keep-alive 로 연결을 재사용하고,
+// 응답이 멈춘 OpenAI 호출이 작업 스레드를 무한정 붙잡지 않도록 연결/읽기 타임아웃을 둡니다.
+// 읽기 타임아웃은 바이트를 받을 때마다 다시 시작하므로, 조각이 계속 오는 스트리밍 응답은 길어도 끊기지 않습니다.
+// 응답 압축(gzip/deflate)은 HttpClient 기본 설정으로 Accept-Encoding 을 보내고 자동으로 풀어줍니다.
+@Configuration
+public class OpenAiClientConfig {
+
+    @Value("${openai.http.max-connections:50}") // 풀 전체 최대 연결 수
+    private int maxConnections;
+
+    @Value("${openai.http.max-connections-per-route:20}") // api.openai.com 한 곳에 대한 최대 연결 수
+    private int maxConnectionsPerRoute;
+
+    @Value("${openai.http.connect-timeout-ms:5000}")
+    private long connectTimeoutMs;
+
+    @Value("${openai.http.read-timeout-ms:60000}") // 응답 바이트 사이 최대 대기 시간
+    private long readTimeoutMs;
+
+    @Value("${openai.http.pool-wait-timeout-ms:10000}") // 풀에서 연결을 빌릴 때 최대 대기 시간
+    private long poolWaitTimeoutMs;
+
+    @Value("${openai.http.keep-alive-seconds:60}") // 서버가 지정하지 않을 때 유휴 연결 유지 시간
+    private long keepAliveSeconds;
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager openaiConnectionManager() {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setPoolConcurrencyPolicy(PoolConcurrencyPolicy.STRICT)
+                .setConnPoolPolicy(PoolReusePolicy.LIFO) // 최근에 쓴(살아 있는) 연결부터 재사용
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(10))
+                        .setTimeToLive(TimeValue.ofMinutes(5))
+                        .build())
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient openaiHttpClient(PoolingHttpClientConnectionManager openaiConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(openaiConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolWaitTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .setConnectionKeepAlive(TimeValue.ofSeconds(keepAliveSeconds))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(keepAliveSeconds))
+                .disableAutomaticRetries() // 재시도는 ResumeAnalysisService 에서 처리
+                .build();
+    }
+
+    @Bean
+    public RestTemplate openaiRestTemplate(CloseableHttpClient openaiHttpClient, OpenAiHttpMetrics openAiHttpMetrics) {
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(openaiHttpClient));
+        restTemplate.getInterceptors().add(openAiHttpMetrics);
+        return restTemplate;
+    }
+}
@@ -4,9 +4,12 @@ package me.kwakinsung.smresume.app.controller;
 import jakarta.servlet.http.HttpSession; // Servlet API에서 직접 HttpSession 사용
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import me.kwakinsung.smresume.app.dto.AnalysisHistoryPage;
+import me.kwakinsung.smresume.app.dto.AnalysisJob;
 import me.kwakinsung.smresume.app.dto.UserDto;
 import me.kwakinsung.smresume.app.service.UserService;
-import me.kwakinsung.smresume.app.service.ResumeStorageService;
+import me.kwakinsung.smresume.app.service.AnalysisJobService;
+import me.kwakinsung.smresume.app.service.AnalysisStorage;
 import org.springframework.beans.factory.annotation.Value; // @Value 어노테이션을 위해 추가
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -17,6 +20,7 @@ import java.util.ArrayList; // 필요시 추가
 import java.util.HashMap;   // 필요시 추가
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 @Controller
 @Slf4j
@@ -24,13 +28,12 @@ import java.util.Map;
 public class MainController {
 
     private final UserService userService;
-    private final ResumeStorageService resumeStorageService;
+    private final AnalysisStorage analysisStorage;
+    private final AnalysisJobService analysisJobService;
 
     // application.properties 또는 application.yml 파일에 정의된 값들을 주입받습니다.
-    @Value("${aws.s3.bucketName}")
-    private String s3BucketName;
-    @Value("${aws.region}")
-    private String s3Region; // 예: ap-northeast-2
+    @Value("${history.page-size:20}")
+    private int historyPageSize; // 분석 기록 목록 한 페이지 크기
 
     // 메인 페이지
     @RequestMapping("/")
@@ -109,7 +112,8 @@ public class MainController {
 
     // 사용자 분석 기록 목록 페이지
     @GetMapping("/my-analysis-history")
-    public String myAnalysisHistory(HttpSession session, Model model) {
+    public String myAnalysisHistory(@RequestParam(value = "cursor", required = false) String cursor,
+                                    HttpSession session, Model model) {
         String loggedInUsername = null;
         UserDto loggedInUser = (UserDto) session.getAttribute("loginid");
         if (loggedInUser != null && loggedInUser.getUsername() != null) {
@@ -122,28 +126,28 @@ public class MainController {
             return "login"; // 로그인 페이지로 리다이렉트하여 로그인 유도
         }
 
-        List<Map<String, String>> history = resumeStorageService.getUserAnalysisResults(loggedInUsername);
+        // 한 페이지씩 조회 (cursor 로 이전/다음 페이지 이동)
+        AnalysisHistoryPage page = analysisStorage.getUserAnalysisResultsPage(loggedInUsername, historyPageSize, cursor);
+        List<Map<String, String>> history = page.getItems();
 
-        // Pre-signed URL 로직 (선택 사항 - 보안 강화를 위해 권장)
-        // 만약 S3 버킷을 public-read로 설정했다면 아래 로직은 필수는 아님.
-        // 하지만 보안상 Pre-signed URL을 쓰는 것이 훨씬 좋음.
+        // 원본 다운로드 링크는 pre-signed URL (버킷은 비공개, 다운로드는 브라우저 -> S3 직접)
         List<Map<String, String>> processedHistory = new ArrayList<>();
         for (Map<String, String> item : history) {
             Map<String, String> newItem = new HashMap<>(item);
             String s3ResumePath = item.get("s3ResumePath"); // DynamoDB에서 가져온 경로
 
             if (s3ResumePath != null && !s3ResumePath.isEmpty() && !s3ResumePath.equals("N/A")) {
-                // Pre-signed URL을 ResumeStorageService에서 생성하여 가져오는 경우 (보안 권장)
-                // String presignedUrl = resumeStorageService.generatePresignedUrlForDownload(s3ResumePath);
-                // newItem.put("s3ResumeFileUrl", presignedUrl);
-
-                // 현재처럼 S3 버킷이 public-read로 설정된 경우 직접 URL 구성 (테스트용, 보안 취약)
-                newItem.put("s3ResumeFileUrl", "https://" + s3BucketName + ".s3." + s3Region + ".amazonaws.com/" + s3ResumePath);
+                String downloadUrl = analysisStorage.getResumeDownloadUrl(s3ResumePath); // 캐시된 서명 재사용
+                if (downloadUrl != null) {
+                    newItem.put("s3ResumeFileUrl", downloadUrl);
+                }
             }
             processedHistory.add(newItem);
         }
 
         model.addAttribute("analysisHistory", processedHistory); // JSP로 기록 리스트 전달 (URL 포함)
+        model.addAttribute("nextCursor", page.getNextCursor());
+        model.addAttribute("prevCursor", page.getPrevCursor());
         return "myAnalysisHistory"; // myAnalysisHistory.jsp 템플릿 반환
     }
 
@@ -163,20 +167,11 @@ public class MainController {
         }
 
         // 보안을 위해, 요청된 analysisId가 현재 로그인된 사용자의 것인지 확인하는 로직 (중요!)
-        List<Map<String, String>> history = resumeStorageService.getUserAnalysisResults(loggedInUsername);
-        String s3Path = null;
-        String originalFileName = null;
-        String targetJob = null;
-
-        for (Map<String, String> item : history) {
-            // 현재 로그인된 사용자의 기록 중에서 해당 analysisId를 가진 항목을 찾습니다.
-            if (item.getOrDefault("analysisId", "").equals(analysisId)) {
-                s3Path = item.get("s3AnalysisResultPath");
-                originalFileName = item.get("originalFileName");
-                targetJob = item.get("targetJob");
-                break;
-            }
-        }
+        // 사용자 파티션 키로 한 건만 조회 (캐시되어 있으면 DynamoDB 조회 없음)
+        Map<String, String> metadata = analysisStorage.getAnalysisMetadata(loggedInUsername, analysisId);
+        String s3Path = metadata != null ? metadata.get("s3AnalysisResultPath") : null;
+        String originalFileName = metadata != null ? metadata.get("originalFileName") : null;
+        String targetJob = metadata != null ? metadata.get("targetJob") : null;
 
         // S3 경로를 찾지 못했거나 유효하지 않은 경우
         if (s3Path == null || s3Path.isEmpty()) {
@@ -186,14 +181,65 @@ public class MainController {
         }
 
         // S3에서 상세 분석 결과 JSON 로드
-        Map<String, Map<String, String>> detailedResult = resumeStorageService.getAnalysisResultFromS3(s3Path);
+        Map<String, Map<String, String>> detailedResult = analysisStorage.getAnalysisResult(s3Path);
         model.addAttribute("analysisResult", detailedResult); // 상세 분석 결과 데이터
         model.addAttribute("originalFileName", originalFileName); // JSP에 표시할 파일명
         model.addAttribute("targetJob", targetJob); // JSP에 표시할 목표 직무
+        model.addAttribute("analysisId", analysisId); // 다른 직무로 재분석 폼
 
         return "resumeResult"; // 기존 resumeResult.jsp 템플릿 재사용 (상세 내용 표시)
     }
 
+    // 저장된 분석을 다른 목표 직무로 다시 분석합니다.
+    // 원본 파일 대신 분석 때 저장해 둔 추출 텍스트(extracted.txt.gz)로 시작하므로 PDF/Word 파싱을 다시 하지 않습니다.
+    @PostMapping("/my-analysis/{analysisId}/reanalyze")
+    public String reanalyzeForAnotherJob(@PathVariable("analysisId") String analysisId,
+                                         @RequestParam("targetJob") String targetJob,
+                                         HttpSession session,
+                                         Model model,
+                                         RedirectAttributes redirectAttributes) {
+        String loggedInUsername = null;
+        UserDto loggedInUser = (UserDto) session.getAttribute("loginid");
+        if (loggedInUser != null && loggedInUser.getUsername() != null) {
+            loggedInUsername = loggedInUser.getUsername();
+        }
+
+        if (loggedInUsername == null) {
+            redirectAttributes.addFlashAttribute("errorMessage", "로그인해야 이력서를 다시 분석할 수 있습니다.");
+            return "redirect:/login";
+        }
+        if (targetJob == null || targetJob.isBlank()) {
+            redirectAttributes.addFlashAttribute("errorMessage", "목표 직무를 선택해주세요.");
+            return "redirect:/my-analysis/" + analysisId;
+        }
+
+        // 소유자 확인 후 저장된 추출 텍스트 조회
+        Map<String, String> metadata = analysisStorage.getAnalysisMetadata(loggedInUsername, analysisId);
+        if (metadata == null) {
+            redirectAttributes.addFlashAttribute("errorMessage", "해당 분석 결과를 찾을 수 없거나 접근 권한이 없습니다.");
+            return "redirect:/my-analysis-history";
+        }
+        String extractedText = analysisStorage.getExtractedText(loggedInUsername, analysisId);
+        if (extractedText == null || extractedText.isBlank()) {
+            redirectAttributes.addFlashAttribute("errorMessage", "이 분석에는 저장된 이력서 텍스트가 없어 다시 분석할 수 없습니다. 이력서를 새로 올려주세요.");
+            return "redirect:/my-analysis/" + analysisId;
+        }
+
+        try {
+            AnalysisJob job = analysisJobService.submit(loggedInUsername, null, metadata.get("originalFileName"),
+                    null, extractedText, targetJob);
+            log.info("다른 직무로 재분석 등록: 사용자 {}, 원본 analysisId={}, jobId={}", loggedInUsername, analysisId, job.getJobId());
+            model.addAttribute("jobId", job.getJobId());
+            model.addAttribute("originalFileName", job.getOriginalFileName());
+            model.addAttribute("targetJob", targetJob);
+            return "analysisProgress";
+        } catch (RejectedExecutionException e) {
+            log.warn("분석 작업 대기열이 가득 찼습니다. 사용자: {}", loggedInUsername);
+            redirectAttributes.addFlashAttribute("errorMessage", "현재 분석 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+            return "redirect:/my-analysis/" + analysisId;
+        }
+    }
+
     // 삭제 엔드포인트 추가
     @PostMapping("/my-analysis/delete/{analysisId}")
     public String deleteAnalysisResult(@PathVariable("analysisId") String analysisId,
@@ -210,7 +256,7 @@ public class MainController {
             return "redirect:/login";
         }
 
-        boolean success = resumeStorageService.deleteAnalysisResult(loggedInUsername, analysisId);
+        boolean success = analysisStorage.deleteAnalysisResult(loggedInUsername, analysisId);
 
         if (success) {
             redirectAttributes.addFlashAttribute("successMessage", "이력서 분석 기록이 성공적으로 삭제되었습니다.");
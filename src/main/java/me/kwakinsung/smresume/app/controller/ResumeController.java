@@ -1,53 +1,55 @@
 package me.kwakinsung.smresume.app.controller;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpSession;
 import lombok.extern.slf4j.Slf4j;
+import me.kwakinsung.smresume.app.dto.AnalysisJob;
+import me.kwakinsung.smresume.app.dto.BulkAnalysisJob;
 import me.kwakinsung.smresume.app.dto.UserDto;
-import me.kwakinsung.smresume.app.service.ResumeStorageService;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.text.PDFTextStripper;
-import org.apache.poi.xwpf.extractor.XWPFWordExtractor;
-import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import me.kwakinsung.smresume.app.service.AnalysisJobService;
+import me.kwakinsung.smresume.app.service.BulkAnalysisService;
+import me.kwakinsung.smresume.app.service.ResumeTextExtractor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 @Controller
 @RequestMapping("/resume")
 @Slf4j // Slf4j 어노테이션 추가
 public class ResumeController {
 
-    private final RestTemplate openaiRestTemplate;
-    private final ObjectMapper objectMapper;
-    private final ResumeStorageService resumeStorageService;
+    private final ResumeTextExtractor resumeTextExtractor;
+    private final AnalysisJobService analysisJobService;
+    private final BulkAnalysisService bulkAnalysisService;
 
-    @Value("${openai.api-key}")
-    private String openaiApiKey;
+    // 단일 이력서 업로드 최대 크기 (multipart 한도는 일괄 분석 ZIP 때문에 더 크게 잡혀 있음)
+    @Value("${analysis.upload.max-file-bytes:52428800}")
+    private long maxUploadBytes;
 
     @Autowired // 생성자 주입
-    public ResumeController(RestTemplate openaiRestTemplate, ObjectMapper objectMapper, ResumeStorageService resumeStorageService) {
-        this.openaiRestTemplate = openaiRestTemplate;
-        this.objectMapper = objectMapper;
-        this.resumeStorageService = resumeStorageService;
+    public ResumeController(ResumeTextExtractor resumeTextExtractor, AnalysisJobService analysisJobService,
+                            BulkAnalysisService bulkAnalysisService) {
+        this.resumeTextExtractor = resumeTextExtractor;
+        this.analysisJobService = analysisJobService;
+        this.bulkAnalysisService = bulkAnalysisService;
     }
 
     @GetMapping("/input")
@@ -62,6 +64,8 @@ public class ResumeController {
     }
 
 
+    // 업로드를 받아 분석 작업을 등록하고 바로 진행 페이지(작업 ID 포함)를 반환합니다.
+    // 실제 추출 → OpenAI 분석 → 저장은 AnalysisJobService 의 작업 풀에서 진행됩니다.
     @PostMapping("/result")
     public String analyzeResumeAndShowResult(
             @RequestParam(value = "resumeFile", required = false) MultipartFile resumeFile,
@@ -70,49 +74,34 @@ public class ResumeController {
             HttpSession session,
             Model model) {
 
-        String loggedInUsername = null;
-        UserDto loggedInUser = (UserDto) session.getAttribute("loginid");
-        if (loggedInUser != null && loggedInUser.getUsername() != null) {
-            loggedInUsername = loggedInUser.getUsername();
-        }
-
+        String loggedInUsername = getLoggedInUsername(session);
         if (loggedInUsername == null) {
             model.addAttribute("errorMessage", "로그인해야 이력서 분석 결과를 저장하고 볼 수 있습니다.");
             return "login";
         }
 
-        String contentToAnalyze = "";
-        MultipartFile fileToStore = null;
+        Path uploadedFile = null;
+        String contentType = null;
+        String originalFileName = null;
 
-        // 파일 또는 텍스트 내용 추출
+        // 파일은 요청이 끝나면 Tomcat 임시 파일이 지워지므로, 작업용 임시 파일로 옮겨 둡니다.
         try {
             if (resumeFile != null && !resumeFile.isEmpty()) {
-                fileToStore = resumeFile;
-                try (InputStream inputStream = resumeFile.getInputStream()) {
-                    String type = resumeFile.getContentType();
-                    if (type != null) {
-                        if (type.startsWith("text/plain")) {
-                            contentToAnalyze = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
-                        } else if (type.equals("application/pdf")) {
-                            PDDocument doc = PDDocument.load(inputStream.readAllBytes());
-                            PDFTextStripper stripper = new PDFTextStripper();
-                            contentToAnalyze = stripper.getText(doc);
-                            doc.close();
-                        } else if (type.equals("application/vnd.openxmlformats-officedocument.wordprocessingml.document")) {
-                            XWPFDocument doc = new XWPFDocument(inputStream);
-                            XWPFWordExtractor extractor = new XWPFWordExtractor(doc);
-                            contentToAnalyze = extractor.getText();
-                            extractor.close();
-                            doc.close();
-                        } else {
-                            model.addAttribute("errorMessage", "지원하지 않는 파일 형식입니다.");
-                            return "resumeInput";
-                        }
-                    }
+                contentType = resumeFile.getContentType();
+                if (!resumeTextExtractor.isSupportedContentType(contentType)) {
+                    model.addAttribute("errorMessage", "지원하지 않는 파일 형식입니다.");
+                    return "resumeInput";
                 }
-            } else if (resumeText != null && !resumeText.isEmpty()) {
-                contentToAnalyze = resumeText;
-            } else {
+                if (resumeFile.getSize() > maxUploadBytes) {
+                    model.addAttribute("errorMessage", "파일이 너무 큽니다. (최대 " + maxUploadBytes / (1024 * 1024) + "MB)");
+                    return "resumeInput";
+                }
+                originalFileName = resumeFile.getOriginalFilename();
+                uploadedFile = Files.createTempFile("resume-upload-", ".tmp");
+                // File 오버로드는 Part.write 를 거쳐 디스크에 받아 둔 파트면 이름만 바꿉니다. (Path 오버로드는 전체를 다시 복사)
+                resumeFile.transferTo(uploadedFile.toFile());
+                resumeText = null;
+            } else if (resumeText == null || resumeText.isEmpty()) {
                 model.addAttribute("errorMessage", "이력서 파일 또는 텍스트를 입력해주세요.");
                 return "resumeInput";
             }
@@ -122,139 +111,133 @@ public class ResumeController {
             return "resumeInput";
         }
 
-        // OpenAI API 호출
-        if (!contentToAnalyze.isEmpty()) {
-            try {
-                Map<String, Map<String, String>> analysisResultMap = analyzeResumeWithSTAR(contentToAnalyze);
-
-                boolean saveSuccess = resumeStorageService.saveAnalysisResult(
-                        loggedInUsername,
-                        fileToStore,
-                        analysisResultMap,
-                        targetJob
-                );
-
-                if (!saveSuccess) {
-                    model.addAttribute("warningMessage", "분석 결과 저장에 실패했습니다.");
-                }
-
-                model.addAttribute("analysisResult", analysisResultMap);
-                model.addAttribute("originalFileName", fileToStore != null ? fileToStore.getOriginalFilename() : "텍스트 직접 입력");
-                model.addAttribute("targetJob", targetJob);
-
-                return "resumeResult";
-            } catch (IOException e) {
-                log.error("OpenAI API 호출 오류: {}", e.getMessage(), e);
-                model.addAttribute("errorMessage", "이력서 분석 중 오류가 발생했습니다: " + e.getMessage());
-                return "resumeInput";
-            }
-        } else {
-            model.addAttribute("errorMessage", "분석할 이력서 내용이 없습니다.");
+        try {
+            AnalysisJob job = analysisJobService.submit(loggedInUsername, uploadedFile, originalFileName,
+                    contentType, resumeText, targetJob);
+            model.addAttribute("jobId", job.getJobId());
+            model.addAttribute("originalFileName", job.getOriginalFileName());
+            model.addAttribute("targetJob", targetJob);
+            return "analysisProgress";
+        } catch (RejectedExecutionException e) {
+            log.warn("분석 작업 대기열이 가득 찼습니다. 사용자: {}", loggedInUsername);
+            model.addAttribute("errorMessage", "현재 분석 요청이 많습니다. 잠시 후 다시 시도해주세요.");
             return "resumeInput";
         }
     }
 
-    // STAR 분석 + 프로젝트 제안 + JSON 구조 맞춤
-    private Map<String, Map<String, String>> analyzeResumeWithSTAR(String resumeContent) throws IOException {
-        String apiUrl = "https://api.openai.com/v1/chat/completions";
-        String model = "gpt-3.5-turbo";
-
-        List<String> chunks = splitText(resumeContent, 1000);
-        List<String> partialSummaries = new ArrayList<>();
-
-        for (String chunk : chunks) {
-            String chunkPrompt = String.format("""
-                너는 신입 개발자 이력서 평가 전문가야.
-                다음 이력서 내용을 STAR 기법 중심으로 요약해줘.
-                내용:
-                %s
-                """, chunk);
-
-            Map<String, Object> requestBody = Map.of(
-                    "model", model,
-                    "messages", List.of(Map.of("role", "user", "content", chunkPrompt)),
-                    "temperature", 0.7
-            );
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("Authorization", "Bearer " + openaiApiKey);
-            headers.set("Content-Type", "application/json");
-
-            HttpEntity<Map<String, Object>> requestEntity = new HttpEntity<>(requestBody, headers);
-            ResponseEntity<Map> response = openaiRestTemplate.postForEntity(apiUrl, requestEntity, Map.class);
+    // 여러 이력서(파일 여러 개 또는 ZIP)를 한 번에 분석합니다. (같은 목표 직무)
+    // 파일을 받는 대로 분석을 시작하고, 모두 받으면 일괄 작업 상태를 202 로 반환합니다.
+    // 진행 상황과 파일별 결과는 GET /resume/bulk/{batchId} 또는 /topic/bulk-analysis/{batchId} 로 확인합니다.
+    @PostMapping("/bulk")
+    @ResponseBody
+    public ResponseEntity<BulkAnalysisJob> analyzeResumesInBulk(
+            @RequestParam("files") List<MultipartFile> files,
+            @RequestParam("targetJob") String targetJob,
+            HttpSession session) {
+        String loggedInUsername = getLoggedInUsername(session);
+        if (loggedInUsername == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
 
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                List<Map<String, Object>> choices = (List<Map<String, Object>>) response.getBody().get("choices");
-                if (!choices.isEmpty()) {
-                    Map<String, Object> message = (Map<String, Object>) choices.get(0).get("message");
-                    String content = (String) message.get("content");
-                    partialSummaries.add(content);
+        BulkAnalysisJob batch = bulkAnalysisService.create(loggedInUsername, targetJob);
+        for (MultipartFile file : files) {
+            if (file.isEmpty()) {
+                continue;
+            }
+            String fileName = file.getOriginalFilename() != null ? file.getOriginalFilename() : "resume";
+            // 업로드는 Tomcat 이 디스크에 받아 두므로 스트림으로 한 파일(ZIP 항목)씩 읽습니다.
+            try (InputStream in = file.getInputStream()) {
+                if (BulkAnalysisService.isArchive(fileName, file.getContentType())) {
+                    bulkAnalysisService.addArchive(batch, in);
+                } else {
+                    bulkAnalysisService.addFile(batch, fileName, file.getContentType(), in);
                 }
+            } catch (IOException e) {
+                log.warn("일괄 분석 파일 읽기 오류: {}, {}", fileName, e.getMessage());
+                bulkAnalysisService.addFailure(batch, fileName, "파일을 읽는 동안 오류가 발생했습니다.");
             }
         }
+        bulkAnalysisService.finishReceiving(batch);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(bulkAnalysisService.getBatch(loggedInUsername, batch.getBatchId()));
+    }
 
-        // 최종 STAR 분석 + 프로젝트 확장 제안
-        String finalPrompt = String.format("""
-            너는 신입 개발자 이력서 평가 전문가야.
-            아래 요약들을 기반으로 STAR 분석 + 각 항목별 개선점 + 실무 확장 프로젝트 아이디어 제시.
-            JSON 형식으로 반환:
-            {
-              "Situation": {"평가": "", "개선점": ""},
-              "Task": {"평가": "", "개선점": ""},
-              "Action": {"평가": "", "개선점": ""},
-              "Result": {"평가": "", "개선점": ""},
-              "총평": "",
-              "확장 제안": {"STAR 사례 예시": "", "추가 프로젝트 제안": ""}
-            }
-            이력서 요약:
-            %s
-            """, String.join("\n", partialSummaries));
-
-        Map<String, Object> finalRequest = Map.of(
-                "model", model,
-                "messages", List.of(Map.of("role", "user", "content", finalPrompt)),
-                "temperature", 0.7
-        );
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("Authorization", "Bearer " + openaiApiKey);
-        headers.set("Content-Type", "application/json");
-
-        HttpEntity<Map<String, Object>> requestEntity = new HttpEntity<>(finalRequest, headers);
-        ResponseEntity<Map> finalResponse = openaiRestTemplate.postForEntity(apiUrl, requestEntity, Map.class);
-
-        if (finalResponse.getStatusCode().is2xxSuccessful() && finalResponse.getBody() != null) {
-            List<Map<String, Object>> choices = (List<Map<String, Object>>) finalResponse.getBody().get("choices");
-            if (!choices.isEmpty()) {
-                Map<String, Object> message = (Map<String, Object>) choices.get(0).get("message");
-                String content = (String) message.get("content");
-
-                // JSON -> Map<String, Map<String, String>> 변환
-                return objectMapper.readValue(content,
-                        new com.fasterxml.jackson.core.type.TypeReference<Map<String, Map<String, String>>>(){});
-            }
+    // 일괄 작업 진행 상황과 파일별 결과 요약
+    @GetMapping("/bulk/{batchId}")
+    @ResponseBody
+    public ResponseEntity<BulkAnalysisJob> getBulkAnalysis(@PathVariable String batchId, HttpSession session) {
+        BulkAnalysisJob batch = bulkAnalysisService.getBatch(getLoggedInUsername(session), batchId);
+        if (batch == null) {
+            return ResponseEntity.notFound().build();
         }
+        return ResponseEntity.ok(batch);
+    }
 
-        throw new IOException("OpenAI API 최종 분석 실패");
+    // 폴링용 작업 상태 조회 (WebSocket 을 쓸 수 없는 환경의 대체 경로)
+    @GetMapping("/jobs/{jobId}")
+    @ResponseBody
+    public ResponseEntity<AnalysisJob> getAnalysisJob(@PathVariable String jobId, HttpSession session) {
+        AnalysisJob job = analysisJobService.getJob(getLoggedInUsername(session), jobId);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(job);
     }
 
-    // 문자열 쪼개기
-    private List<String> splitText(String text, int chunkSize) {
-        List<String> chunks = new ArrayList<>();
-        int length = text.length();
-        for (int i = 0; i < length; i += chunkSize) {
-            chunks.add(text.substring(i, Math.min(length, i + chunkSize)));
+    // 진행 상황 + 최종 분석 응답을 생성되는 대로 보내는 SSE 스트림 (event: progress / token)
+    @GetMapping(value = "/jobs/{jobId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public ResponseEntity<SseEmitter> streamAnalysisJob(@PathVariable String jobId, HttpSession session) {
+        SseEmitter emitter = analysisJobService.subscribe(getLoggedInUsername(session), jobId);
+        if (emitter == null) {
+            return ResponseEntity.notFound().build();
         }
-        return chunks;
+        return ResponseEntity.ok(emitter);
     }
 
-    //긴 이력서 → 잘라서 요약
-    //
-    //요약 결과 → 다시 합쳐서 최종 분석
-    //
-    //gpt-3.5-turbo에서도 안정적으로 동작
-    //2025.09.03
+    // 작업이 끝나면 메모리의 분석 결과로 결과 페이지를 바로 보여줍니다. (저장은 백그라운드에서 진행)
+    // 작업 보관 시간이 지나 메모리에서 사라진 경우에는 저장된 결과(/my-analysis/{analysisId})를 사용합니다.
+    @GetMapping("/jobs/{jobId}/result")
+    public String showAnalysisJobResult(@PathVariable String jobId, HttpSession session, Model model) {
+        String loggedInUsername = getLoggedInUsername(session);
+        if (loggedInUsername == null) {
+            model.addAttribute("errorMessage", "로그인해야 이력서 분석 결과를 저장하고 볼 수 있습니다.");
+            return "login";
+        }
 
+        AnalysisJob job = analysisJobService.getJob(loggedInUsername, jobId);
+        if (job == null) {
+            model.addAttribute("errorMessage", "분석 작업을 찾을 수 없습니다.");
+            return "resumeInput";
+        }
+        if (job.getStatus() == AnalysisJob.Status.FAILED) {
+            model.addAttribute("errorMessage", job.getMessage());
+            return "resumeInput";
+        }
+        if (!job.isFinished()) {
+            model.addAttribute("jobId", job.getJobId());
+            model.addAttribute("originalFileName", job.getOriginalFileName());
+            model.addAttribute("targetJob", job.getTargetJob());
+            return "analysisProgress";
+        }
+        if (job.getAnalysisResult() == null && job.getAnalysisId() != null) {
+            return "redirect:/my-analysis/" + job.getAnalysisId();
+        }
 
+        if (job.getMessage() != null) {
+            model.addAttribute("warningMessage", job.getMessage());
+        }
+        model.addAttribute("analysisResult", job.getAnalysisResult());
+        model.addAttribute("originalFileName", job.getOriginalFileName());
+        model.addAttribute("targetJob", job.getTargetJob());
+        return "resumeResult";
+    }
 
-}
\ No newline at end of file
+    private String getLoggedInUsername(HttpSession session) {
+        UserDto loggedInUser = (UserDto) session.getAttribute("loginid");
+        if (loggedInUser != null && loggedInUser.getUsername() != null) {
+            return loggedInUser.getUsername();
+        }
+        return null;
+    }
+}
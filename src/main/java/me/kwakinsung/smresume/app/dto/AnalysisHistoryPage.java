@@ -0,0 +1,21 @@
+package me.kwakinsung.smresume.app.dto;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+// 분석 기록 목록의 한 페이지 (커서 기반 페이지네이션)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalysisHistoryPage {
+    private List<Map<String, String>> items;
+    private String nextCursor; // 다음(더 오래된) 페이지 커서, 없으면 null
+    private String prevCursor; // 이전(더 최신) 페이지 커서, 첫 페이지면 null
+}
@@ -0,0 +1,51 @@
+package me.kwakinsung.smresume.app.dto;
+
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+// 비동기 이력서 분석 작업의 상태 (STOMP 진행 이벤트 / 폴링 응답으로 그대로 직렬화됩니다)
+@Data
+@NoArgsConstructor
+public class AnalysisJob {
+
+    public enum Status { QUEUED, RUNNING, DONE, FAILED }
+
+    private String jobId;
+    @JsonIgnore
+    private String userId;
+    private String originalFileName;
+    private String targetJob;
+
+    private Status status = Status.QUEUED;
+    private String stage = "queued"; // queued / started / extracted / chunk / streaming / final / saving / saved / save-failed / failed
+    private int completedChunks;
+    private int totalChunks;
+    private String message;
+    private String analysisId; // 저장 완료 후 채워짐 (/my-analysis/{analysisId})
+    private long updatedAt;
+
+    // 분석이 끝나면 저장 완료를 기다리지 않고 이 결과로 결과 페이지를 바로 보여줍니다.
+    @JsonIgnore
+    private Map<String, Map<String, String>> analysisResult;
+
+    // 스트리밍 중인 최종 분석 응답 (늦게 연결한 SSE 구독자에게 지금까지의 내용을 먼저 보내기 위함, 완료 후 비움)
+    @JsonIgnore
+    private StringBuilder streamedText = new StringBuilder();
+
+    public AnalysisJob(String jobId, String userId, String originalFileName, String targetJob) {
+        this.jobId = jobId;
+        this.userId = userId;
+        this.originalFileName = originalFileName;
+        this.targetJob = targetJob;
+        this.updatedAt = System.currentTimeMillis();
+    }
+
+    @JsonIgnore
+    public boolean isFinished() {
+        return status == Status.DONE || status == Status.FAILED;
+    }
+}
@@ -0,0 +1,66 @@
+package me.kwakinsung.smresume.app.dto;
+
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 여러 이력서(또는 ZIP)를 한 번에 분석하는 일괄 작업의 상태 (폴링 응답 / STOMP 진행 이벤트로 그대로 직렬화됩니다)
+// 파일마다 일반 분석 작업(AnalysisJob)이 하나씩 만들어지며, files 에 파일별 결과를 모읍니다.
+@Data
+@NoArgsConstructor
+public class BulkAnalysisJob {
+
+    public enum Status { RECEIVING, RUNNING, DONE }
+
+    public enum FileStatus { QUEUED, RUNNING, SAVED, FAILED, SKIPPED }
+
+    @Data
+    @NoArgsConstructor
+    public static class FileResult {
+        private int index;
+        private String fileName;
+        private FileStatus status = FileStatus.QUEUED;
+        private String jobId;      // 파일별 분석 작업 (/resume/jobs/{jobId})
+        private String analysisId; // 저장 완료 후 채워짐 (/my-analysis/{analysisId})
+        private String message;
+        private long elapsedMillis;
+
+        public FileResult(int index, String fileName) {
+            this.index = index;
+            this.fileName = fileName;
+        }
+    }
+
+    private String batchId;
+    @JsonIgnore
+    private String userId;
+    private String targetJob;
+
+    private Status status = Status.RECEIVING; // RECEIVING: 아직 업로드/압축 해제 중
+    private boolean aborted; // 전체 크기 한도를 넘어 중단됨 (이후 파일은 받지 않고, 아직 시작하지 않은 파일은 분석하지 않음)
+    private int total;
+    private int saved;
+    private int failed;
+    private int skipped;
+    private String message;
+    private long createdAt;
+    private long updatedAt;
+    private List<FileResult> files = new ArrayList<>();
+
+    public BulkAnalysisJob(String batchId, String userId, String targetJob) {
+        this.batchId = batchId;
+        this.userId = userId;
+        this.targetJob = targetJob;
+        this.createdAt = System.currentTimeMillis();
+        this.updatedAt = this.createdAt;
+    }
+
+    @JsonIgnore
+    public boolean isFinished() {
+        return status == Status.DONE;
+    }
+}
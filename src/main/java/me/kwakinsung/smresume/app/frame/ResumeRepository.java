@@ -1,11 +1,17 @@
 package me.kwakinsung.smresume.app.frame;
 
+import org.apache.ibatis.cursor.Cursor;
+
 import java.util.List;
 
 public interface ResumeRepository<K,V> {
     void insert(V v) throws Exception;
+    // 있으면 수정, 없으면 등록 (대량 등록/동기화용)
+    void upsert(V v) throws Exception;
     void update(V v) throws Exception;
     void delete(K k) throws Exception;
     V selectOne(K k) throws Exception;
     List<V> select() throws Exception;
+    // 전체 조회를 한 행씩 읽음 (트랜잭션 안에서 사용, 다 쓰면 close)
+    Cursor<V> selectCursor() throws Exception;
 }
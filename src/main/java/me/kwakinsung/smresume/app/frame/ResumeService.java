@@ -3,14 +3,21 @@ package me.kwakinsung.smresume.app.frame;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ResumeService<K,V> {
     @Transactional
     void add(V v) throws Exception;
+    // 대량 등록/등록-또는-수정 (배치 실행, 한 트랜잭션)
+    int addAll(Iterable<V> vs) throws Exception;
+    int saveAll(Iterable<V> vs) throws Exception;
     @Transactional
     void modify(V v) throws Exception;
     @Transactional
     void del(K k) throws Exception;
     V get(K k) throws Exception;
     List<V> get() throws Exception;
+    // 전체 목록을 메모리에 올리지 않고 한 건씩 처리
+    @Transactional(readOnly = true)
+    void forEach(Consumer<? super V> action) throws Exception;
 }
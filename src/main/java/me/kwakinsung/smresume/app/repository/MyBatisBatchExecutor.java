@@ -0,0 +1,75 @@
+package me.kwakinsung.smresume.app.repository;
+
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// 매퍼 구문을 MyBatis BATCH 실행기로 모아서 보냅니다. (대량 등록/동기화용)
+// flush-size 건마다 flushStatements 로 DB 에 전송하고, 전체는 한 트랜잭션으로 커밋/롤백합니다.
+// 한 트랜잭션 안에서 실행기 종류(SIMPLE/BATCH)를 섞을 수 없으므로 항상 새 트랜잭션(REQUIRES_NEW)에서 실행합니다.
+// MyBatis 가 없는 구성(부하 테스트 등)에서는 쓰일 때까지 만들지 않습니다.
+@Component
+@Lazy
+public class MyBatisBatchExecutor {
+
+    public interface Statement<M, V> {
+        void execute(M mapper, V item) throws Exception;
+    }
+
+    private final SqlSessionTemplate batchSession;
+    private final TransactionTemplate transactionTemplate;
+    private final int flushSize;
+
+    public MyBatisBatchExecutor(SqlSessionFactory sqlSessionFactory,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${repository.batch.flush-size:500}") int flushSize) {
+        this.batchSession = new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.flushSize = Math.max(1, flushSize);
+    }
+
+    /**
+     * items 마다 statement 를 실행합니다. 하나라도 실패하면 전체를 롤백합니다.
+     * @param mapperType 매퍼 인터페이스 (예: UserRepository.class)
+     * @return 실행한 건수
+     */
+    public <M, V> int execute(Class<M> mapperType, Iterable<V> items, Statement<M, V> statement) throws Exception {
+        try {
+            Integer count = transactionTemplate.execute(status -> {
+                M mapper = batchSession.getMapper(mapperType);
+                int executed = 0;
+                for (V item : items) {
+                    try {
+                        statement.execute(mapper, item);
+                    } catch (RuntimeException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        throw new StatementException(e);
+                    }
+                    if (++executed % flushSize == 0) {
+                        batchSession.flushStatements();
+                    }
+                }
+                batchSession.flushStatements();
+                return executed;
+            });
+            return count != null ? count : 0;
+        } catch (StatementException e) {
+            throw (Exception) e.getCause();
+        }
+    }
+
+    // 트랜잭션 콜백 밖으로 checked 예외를 그대로 전달하기 위한 포장
+    private static class StatementException extends RuntimeException {
+        StatementException(Exception cause) {
+            super(cause);
+        }
+    }
+}
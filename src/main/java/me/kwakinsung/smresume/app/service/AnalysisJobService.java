@@ -0,0 +1,356 @@
+package me.kwakinsung.smresume.app.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import me.kwakinsung.smresume.app.dto.AnalysisJob;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+
+// 업로드 요청은 작업 ID만 돌려주고, 추출 → OpenAI 분석 → 저장은 전용 작업 풀에서 실행합니다.
+// 진행 상황은 /topic/analysis-jobs/{jobId} 로 STOMP 푸시하고, 폴링(GET /resume/jobs/{jobId})도 지원합니다.
+// SSE(GET /resume/jobs/{jobId}/stream)로는 진행 상황과 함께 최종 분석 응답을 생성되는 대로 전달합니다.
+@Service
+@Slf4j
+public class AnalysisJobService {
+
+    public static final String JOB_TOPIC_PREFIX = "/topic/analysis-jobs/";
+
+    private final ResumeTextExtractor resumeTextExtractor;
+    private final ResumeTextChunker resumeTextChunker;
+    private final ResumeAnalysisService resumeAnalysisService;
+    private final AnalysisStorage analysisStorage;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final Executor analysisJobExecutor;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, AnalysisJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+
+    @Value("${analysis.job.retention-minutes:30}") // 끝난 작업 상태를 메모리에 보관하는 시간
+    private long retentionMinutes;
+
+    @Value("${analysis.job.sse-timeout-ms:300000}") // SSE 연결 최대 유지 시간
+    private long sseTimeoutMillis;
+
+    @Autowired // 생성자 주입
+    public AnalysisJobService(ResumeTextExtractor resumeTextExtractor,
+                              ResumeTextChunker resumeTextChunker,
+                              ResumeAnalysisService resumeAnalysisService,
+                              AnalysisStorage analysisStorage,
+                              SimpMessagingTemplate messagingTemplate,
+                              @Qualifier("analysisJobExecutor") Executor analysisJobExecutor,
+                              MeterRegistry meterRegistry) {
+        this.resumeTextExtractor = resumeTextExtractor;
+        this.resumeTextChunker = resumeTextChunker;
+        this.resumeAnalysisService = resumeAnalysisService;
+        this.analysisStorage = analysisStorage;
+        this.messagingTemplate = messagingTemplate;
+        this.analysisJobExecutor = analysisJobExecutor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 이력서 분석 작업을 등록하고 바로 반환합니다.
+     * @param userId 사용자 ID
+     * @param resumeFile 업로드 파일을 옮겨 둔 임시 파일 (텍스트 직접 입력이면 null, 작업이 끝나면 삭제됨)
+     * @param originalFileName 원본 파일명 (텍스트로 분석하면서 null 이면 "텍스트 직접 입력")
+     * @param contentType 업로드 파일의 Content-Type
+     * @param resumeText 직접 입력한 이력서 텍스트 또는 저장된 추출 텍스트 (파일 업로드면 null)
+     * @param targetJob 목표 직무
+     * @return 등록된 작업 (작업 풀이 가득 차면 RejectedExecutionException)
+     */
+    public AnalysisJob submit(String userId, Path resumeFile, String originalFileName, String contentType,
+                              String resumeText, String targetJob) {
+        purgeExpiredJobs();
+
+        AnalysisJob job = createJob(userId, originalFileName != null ? originalFileName : "텍스트 직접 입력", targetJob);
+        try {
+            analysisJobExecutor.execute(() -> run(job, resumeFile, contentType, resumeText));
+        } catch (RuntimeException e) {
+            jobs.remove(job.getJobId());
+            deleteQuietly(resumeFile);
+            throw e;
+        }
+        log.info("이력서 분석 작업 등록: jobId={}, userId={}", job.getJobId(), userId);
+        return job;
+    }
+
+    /**
+     * 작업을 대기(queued) 상태로 등록만 합니다. 실행은 analyzeNow 로 합니다. (일괄 분석용)
+     */
+    public AnalysisJob createJob(String userId, String originalFileName, String targetJob) {
+        AnalysisJob job = new AnalysisJob(UUID.randomUUID().toString(), userId, originalFileName, targetJob);
+        jobs.put(job.getJobId(), job);
+        return job;
+    }
+
+    /**
+     * createJob 으로 등록했지만 실행하지 못한 작업을 지웁니다.
+     */
+    public void removeJob(AnalysisJob job) {
+        jobs.remove(job.getJobId());
+    }
+
+    /**
+     * createJob 으로 등록한 작업을 호출한 스레드에서 바로 실행합니다. (작업 풀을 거치지 않음, 일괄 분석용)
+     * 진행 상황은 일반 작업과 같이 푸시/폴링됩니다.
+     * @param resumeFile 이력서 임시 파일 (작업이 끝나면 삭제됨)
+     * @return 분석 결과 저장이 끝나면 분석 ID 로 완료되는 future (분석/저장 실패 시 null)
+     */
+    public CompletableFuture<String> analyzeNow(AnalysisJob job, Path resumeFile, String contentType) {
+        return run(job, resumeFile, contentType, null);
+    }
+
+    /**
+     * 작업 상태를 조회합니다. 다른 사용자의 작업이면 null 을 반환합니다.
+     */
+    public AnalysisJob getJob(String userId, String jobId) {
+        AnalysisJob job = jobs.get(jobId);
+        if (job == null || !job.getUserId().equals(userId)) {
+            return null;
+        }
+        return job;
+    }
+
+    /**
+     * 작업의 SSE 스트림을 엽니다. 현재 상태와 지금까지 생성된 응답을 먼저 보내고,
+     * 이후 progress(작업 상태) / token(응답 조각) 이벤트를 보내다가 작업이 끝나면 닫습니다.
+     * @return SSE emitter (작업이 없거나 다른 사용자의 작업이면 null)
+     */
+    public SseEmitter subscribe(String userId, String jobId) {
+        AnalysisJob job = getJob(userId, jobId);
+        if (job == null) {
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(sseTimeoutMillis);
+        synchronized (job) {
+            try {
+                emitter.send(SseEmitter.event().name("progress").data(job));
+                if (job.getStreamedText().length() > 0) {
+                    emitter.send(SseEmitter.event().name("token").data(job.getStreamedText().toString()));
+                }
+            } catch (IOException e) {
+                emitter.completeWithError(e);
+                return emitter;
+            }
+            if (job.isFinished()) {
+                emitter.complete();
+                return emitter;
+            }
+            List<SseEmitter> jobEmitters = emitters.computeIfAbsent(jobId, id -> new CopyOnWriteArrayList<>());
+            jobEmitters.add(emitter);
+            emitter.onCompletion(() -> jobEmitters.remove(emitter));
+            emitter.onTimeout(() -> jobEmitters.remove(emitter));
+            emitter.onError(error -> jobEmitters.remove(emitter));
+        }
+        return emitter;
+    }
+
+    private CompletableFuture<String> run(AnalysisJob job, Path resumeFile, String contentType, String resumeText) {
+        update(job, AnalysisJob.Status.RUNNING, "started", null);
+        // 작업 전체(추출 → 분석, 저장 시작까지) 시간: analysis.job{outcome}
+        Timer.Sample sample = Timer.start(meterRegistry);
+        AnalysisStorage.ResumeUpload resumeUpload = null;
+        boolean saveStarted = false;
+        Map<String, String> chunkSummaries = new ConcurrentHashMap<>(); // 분석 결과와 함께 저장 (수정본 재분석 시 재사용)
+        try {
+            String contentToAnalyze;
+            if (resumeFile != null) {
+                // 원본 업로드를 먼저 시작해 두고 그동안 텍스트를 추출합니다.
+                // 두 쪽 모두 같은 임시 파일을 읽으므로 디스크에서는 OS 페이지 캐시를 통해 한 번만 읽힙니다.
+                resumeUpload = analysisStorage.startResumeUpload(job.getUserId(), resumeFile, job.getOriginalFileName());
+                contentToAnalyze = resumeTextExtractor.extractText(resumeFile, contentType);
+            } else {
+                contentToAnalyze = resumeText;
+            }
+            if (contentToAnalyze == null || contentToAnalyze.isBlank()) {
+                update(job, AnalysisJob.Status.FAILED, "failed", "분석할 이력서 내용이 없습니다.");
+                return CompletableFuture.completedFuture(null);
+            }
+            update(job, AnalysisJob.Status.RUNNING, "extracted", null);
+            String extractedText = resumeTextChunker.clean(contentToAnalyze); // 다른 직무로 재분석할 때 파싱 없이 사용
+
+            Map<String, Map<String, String>> analysisResultMap = resumeAnalysisService.analyzeResumeWithSTAR(contentToAnalyze,
+                    job.getTargetJob(), job.getUserId(), new ResumeAnalysisService.ProgressListener() {
+                        @Override
+                        public void onProgress(String stage, int completed, int total) {
+                            synchronized (job) {
+                                if ("chunk".equals(stage)) {
+                                    if ("streaming".equals(job.getStage()) || "final".equals(job.getStage())) {
+                                        return; // 타임아웃으로 건너뛴 청크가 뒤늦게 끝난 경우
+                                    }
+                                    job.setCompletedChunks(Math.max(job.getCompletedChunks(), completed));
+                                    job.setTotalChunks(total);
+                                }
+                                update(job, AnalysisJob.Status.RUNNING, stage, null);
+                            }
+                        }
+
+                        @Override
+                        public void onToken(String delta) {
+                            synchronized (job) {
+                                job.getStreamedText().append(delta);
+                                sendSse(job, "token", delta);
+                            }
+                        }
+
+                        @Override
+                        public void onChunkSummaries(Map<String, String> summariesByHash) {
+                            chunkSummaries.putAll(summariesByHash);
+                        }
+                    });
+            job.setAnalysisResult(analysisResultMap);
+
+            // 저장은 비동기로 진행하고, 결과 페이지는 바로 보여줍니다. (저장 완료 시 saved 이벤트 전송)
+            // 저장소에 따라 future 가 이미 완료된 채로 돌아올 수 있으므로 saving 상태를 먼저 반영합니다.
+            update(job, AnalysisJob.Status.DONE, "saving", null);
+            Path uploadedFile = resumeFile;
+            CompletableFuture<String> saved = analysisStorage.saveAnalysisResultAsync(job.getUserId(), resumeUpload,
+                            job.getOriginalFileName(), analysisResultMap, job.getTargetJob())
+                    .thenCompose(analysisId -> saveSidecars(job.getUserId(), analysisId, chunkSummaries, extractedText))
+                    .whenComplete((analysisId, error) -> {
+                        onSaveCompleted(job, analysisId);
+                        deleteQuietly(uploadedFile);
+                    });
+            saveStarted = true;
+            return saved;
+        } catch (IOException e) {
+            log.error("이력서 분석 작업 실패: jobId={}, {}", job.getJobId(), e.getMessage(), e);
+            update(job, AnalysisJob.Status.FAILED, "failed", "이력서 분석 중 오류가 발생했습니다: " + e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("이력서 분석 작업 중 예기치 않은 오류: jobId={}, {}", job.getJobId(), e.getMessage(), e);
+            update(job, AnalysisJob.Status.FAILED, "failed", "이력서 분석 중 오류가 발생했습니다.");
+        } finally {
+            sample.stop(meterRegistry.timer("analysis.job", "outcome", job.getStatus().name().toLowerCase()));
+            // 저장 단계로 넘어가지 못한 업로드는 정리하고(업로드 완료까지 대기), 그 뒤에 임시 파일을 지웁니다.
+            if (!saveStarted) {
+                analysisStorage.discardResumeUpload(resumeUpload);
+                deleteQuietly(resumeFile);
+            }
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    // 청크 요약/추출 텍스트 저장은 실패해도 분석 기록 저장은 성공으로 처리합니다. (다음 재분석에서 재사용만 못 함)
+    private CompletableFuture<String> saveSidecars(String userId, String analysisId, Map<String, String> chunkSummaries,
+                                                   String extractedText) {
+        if (analysisId == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> chunks = chunkSummaries.isEmpty()
+                ? CompletableFuture.completedFuture(null)
+                : logFailure("청크 요약", analysisId, analysisStorage.saveChunkSummaries(userId, analysisId, chunkSummaries));
+        CompletableFuture<Void> text = extractedText.isEmpty()
+                ? CompletableFuture.completedFuture(null)
+                : logFailure("추출 텍스트", analysisId, analysisStorage.saveExtractedText(userId, analysisId, extractedText));
+        return CompletableFuture.allOf(chunks, text).thenApply(v -> analysisId);
+    }
+
+    private CompletableFuture<Void> logFailure(String what, String analysisId, CompletableFuture<Void> write) {
+        return write.handle((result, error) -> {
+            if (error != null) {
+                log.warn("{} 저장 실패 (analysisId={}): {}", what, analysisId, error.getMessage());
+            }
+            return null;
+        });
+    }
+
+    // 저장 결과는 작업이 끝난(DONE) 뒤에 도착하므로 update() 를 거치지 않고 직접 반영/푸시합니다.
+    private void onSaveCompleted(AnalysisJob job, String analysisId) {
+        synchronized (job) {
+            if (analysisId != null) {
+                job.setAnalysisId(analysisId);
+                job.setStage("saved");
+            } else {
+                job.setStage("save-failed");
+                job.setMessage("분석 결과 저장에 실패했습니다.");
+            }
+            job.setUpdatedAt(System.currentTimeMillis());
+            send(job);
+        }
+    }
+
+    // 상태를 바꾸고 구독자에게 현재 스냅샷을 푸시합니다.
+    private void update(AnalysisJob job, AnalysisJob.Status status, String stage, String message) {
+        synchronized (job) {
+            if (job.isFinished()) {
+                return;
+            }
+            job.setStatus(status);
+            job.setStage(stage);
+            if (message != null) {
+                job.setMessage(message);
+            }
+            job.setUpdatedAt(System.currentTimeMillis());
+            send(job);
+            if (job.isFinished()) {
+                job.setStreamedText(new StringBuilder()); // 결과는 analysisResult 로 보관
+                completeSse(job);
+            }
+        }
+    }
+
+    private void send(AnalysisJob job) {
+        sendSse(job, "progress", job);
+        try {
+            messagingTemplate.convertAndSend(JOB_TOPIC_PREFIX + job.getJobId(), job);
+        } catch (Exception e) {
+            // 푸시 실패는 폴링으로 보완되므로 작업은 계속 진행
+            log.debug("작업 진행 이벤트 전송 실패: jobId={}, {}", job.getJobId(), e.getMessage());
+        }
+    }
+
+    private void sendSse(AnalysisJob job, String eventName, Object data) {
+        List<SseEmitter> jobEmitters = emitters.get(job.getJobId());
+        if (jobEmitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : jobEmitters) {
+            try {
+                emitter.send(SseEmitter.event().name(eventName).data(data));
+            } catch (IOException | IllegalStateException e) {
+                // 브라우저가 연결을 끊은 경우
+                jobEmitters.remove(emitter);
+            }
+        }
+    }
+
+    private void completeSse(AnalysisJob job) {
+        List<SseEmitter> jobEmitters = emitters.remove(job.getJobId());
+        if (jobEmitters != null) {
+            jobEmitters.forEach(SseEmitter::complete);
+        }
+    }
+
+    private void purgeExpiredJobs() {
+        long expireBefore = System.currentTimeMillis() - retentionMinutes * 60_000L;
+        jobs.values().removeIf(job -> job.isFinished() && job.getUpdatedAt() < expireBefore);
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("임시 업로드 파일 삭제 실패: {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package me.kwakinsung.smresume.app.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 사용자별 분석 메타데이터 캐시 (/my-analysis/{analysisId} 권한 확인 + 상세 조회용)
+// 사용자당 analysisId -> 메타데이터, analysisId -> analysisTimestamp(테이블 정렬 키) 를 보관합니다.
+// 최근 사용한 사용자 수(max-users)와 보관 시간(ttl-minutes)으로 크기를 제한합니다.
+@Component
+public class AnalysisMetadataCache {
+
+    private final long ttlMillis;
+    private final Map<String, UserEntry> users;
+
+    private static class UserEntry {
+        private final long createdAt = System.currentTimeMillis();
+        private final Map<String, Map<String, String>> items = new ConcurrentHashMap<>();
+        private final Map<String, String> timestamps = new ConcurrentHashMap<>();
+    }
+
+    public AnalysisMetadataCache(@Value("${analysis.metadata-cache.max-users:1000}") int maxUsers,
+                                 @Value("${analysis.metadata-cache.ttl-minutes:10}") long ttlMinutes) {
+        this.ttlMillis = ttlMinutes * 60_000L;
+        // access-order LinkedHashMap = LRU
+        this.users = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, UserEntry> eldest) {
+                return size() > maxUsers;
+            }
+        };
+    }
+
+    /**
+     * 캐시된 메타데이터 (없으면 null)
+     */
+    public Map<String, String> get(String userId, String analysisId) {
+        UserEntry entry = entry(userId, false);
+        return entry != null ? entry.items.get(analysisId) : null;
+    }
+
+    /**
+     * 캐시된 테이블 정렬 키 analysisTimestamp (없으면 null). 있으면 GetItem 한 번으로 메타데이터를 읽을 수 있습니다.
+     */
+    public String getTimestamp(String userId, String analysisId) {
+        UserEntry entry = entry(userId, false);
+        return entry != null ? entry.timestamps.get(analysisId) : null;
+    }
+
+    /**
+     * 메타데이터를 저장합니다. (analysisTimestamp 가 있으면 키도 함께 기록)
+     */
+    public void put(String userId, String analysisId, Map<String, String> metadata) {
+        UserEntry entry = entry(userId, true);
+        entry.items.put(analysisId, metadata);
+        String timestamp = metadata.get("analysisTimestamp");
+        if (timestamp != null) {
+            entry.timestamps.put(analysisId, timestamp);
+        }
+    }
+
+    /**
+     * 목록 조회에서 알게 된 analysisId -> analysisTimestamp 만 기록합니다.
+     */
+    public void putTimestamp(String userId, String analysisId, String analysisTimestamp) {
+        if (analysisTimestamp != null) {
+            entry(userId, true).timestamps.put(analysisId, analysisTimestamp);
+        }
+    }
+
+    /**
+     * 특정 분석의 캐시를 지웁니다. (삭제 시)
+     */
+    public void invalidate(String userId, String analysisId) {
+        UserEntry entry = entry(userId, false);
+        if (entry != null) {
+            entry.items.remove(analysisId);
+            entry.timestamps.remove(analysisId);
+        }
+    }
+
+    /**
+     * 사용자의 캐시 전체를 지웁니다.
+     */
+    public void invalidateUser(String userId) {
+        synchronized (users) {
+            users.remove(userId);
+        }
+    }
+
+    private UserEntry entry(String userId, boolean create) {
+        synchronized (users) {
+            UserEntry entry = users.get(userId);
+            if (entry != null && System.currentTimeMillis() - entry.createdAt > ttlMillis) {
+                users.remove(userId); // 만료: 다른 서버에서 삭제된 기록이 오래 남지 않도록
+                entry = null;
+            }
+            if (entry == null && create) {
+                entry = new UserEntry();
+                users.put(userId, entry);
+            }
+            return entry;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package me.kwakinsung.smresume.app.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+// 같은 이력서 + 같은 목표 직무로 다시 분석할 때 OpenAI 호출을 건너뛰기 위한 분석 결과 캐시
+// 1차: 메모리 LRU (최대 항목 수 제한), 2차: S3 analysis-cache/{hash}.json (analysis-results/ 와 같은 버킷)
+// storage.type=local 이면 S3 클라이언트가 없으므로 2차 캐시 없이 메모리만 사용합니다.
+// 캐시 항목은 여러 사용자가 공유하고 분석 기록을 삭제해도 지워지지 않으므로, 두 계층 모두 ttl-hours 가 지나면 쓰지 않습니다.
+// (S3 는 LastModified 기준) 버킷에는 analysis-cache/ 접두사에 같은 기간의 만료(Expiration) 수명 주기 규칙을 걸어 객체도 지워지게 합니다.
+@Service
+@Slf4j
+public class AnalysisResultCache {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final String CACHE_PREFIX = "analysis-cache/";
+
+    private final S3Client s3Client; // storage.type=local 이면 null
+    private final ObjectMapper objectMapper;
+    private final StorageMetrics storageMetrics;
+
+    @Value("${aws.s3.bucketName:}")
+    private String s3BucketName;
+
+    @Value("${analysis.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${analysis.cache.persistent:true}") // S3 영구 캐시 사용 여부
+    private boolean persistent;
+
+    private final long ttlMillis;
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong persistentHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+
+    private record Entry(Map<String, Map<String, String>> value, long storedAt) {
+    }
+
+    private final Map<String, Entry> memory;
+
+    public AnalysisResultCache(ObjectProvider<S3Client> s3Client, ObjectMapper objectMapper, StorageMetrics storageMetrics,
+                               @Value("${analysis.cache.max-entries:500}") int maxEntries,
+                               @Value("${analysis.cache.ttl-hours:24}") long ttlHours) {
+        this.s3Client = s3Client.getIfAvailable();
+        this.ttlMillis = ttlHours * 3_600_000L;
+        this.objectMapper = objectMapper;
+        this.storageMetrics = storageMetrics;
+        // access-order LinkedHashMap = LRU
+        this.memory = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 캐시 키를 만듭니다. 공백을 정규화한 이력서 텍스트, 목표 직무, 모델, 프롬프트 버전의 SHA-256 입니다.
+     */
+    public String createKey(String resumeContent, String targetJob, String model, String promptVersion) {
+        String normalized = WHITESPACE.matcher(resumeContent).replaceAll(" ").strip();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(normalized.getBytes(StandardCharsets.UTF_8));
+            for (String part : new String[]{targetJob, model, promptVersion}) {
+                digest.update((byte) 0); // 구분자
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", e);
+        }
+    }
+
+    /**
+     * 캐시된 분석 결과를 조회합니다. (메모리 → S3 순서, ttl 이 지난 항목은 미스)
+     * @param key createKey 로 만든 키
+     * @return 분석 결과 (없으면 null)
+     */
+    public Map<String, Map<String, String>> get(String key) {
+        if (!enabled) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        Entry entry;
+        synchronized (memory) {
+            entry = memory.get(key);
+            if (entry != null && isExpired(entry.storedAt(), now)) {
+                memory.remove(key);
+                expirations.incrementAndGet();
+                entry = null;
+            }
+        }
+        if (entry != null) {
+            memoryHits.incrementAndGet();
+            return entry.value();
+        }
+
+        if (isPersistent()) {
+            try {
+                GetObjectRequest getObjectRequest = GetObjectRequest.builder()
+                        .bucket(s3BucketName)
+                        .key(CACHE_PREFIX + key + ".json")
+                        .build();
+                ResponseBytes<GetObjectResponse> response = storageMetrics.record("s3", "getObject",
+                        () -> s3Client.getObjectAsBytes(getObjectRequest));
+                Instant lastModified = response.response().lastModified();
+                long storedAt = lastModified != null ? lastModified.toEpochMilli() : now;
+                if (isExpired(storedAt, now)) {
+                    // 수명 주기 규칙이 아직 지우지 않은 객체
+                    expirations.incrementAndGet();
+                    misses.incrementAndGet();
+                    return null;
+                }
+                Map<String, Map<String, String>> cached;
+                byte[] json = response.asByteArray();
+                try {
+                    cached = objectMapper.readValue(json,
+                            new com.fasterxml.jackson.core.type.TypeReference<Map<String, Map<String, String>>>() {});
+                } catch (IOException e) {
+                    storageMetrics.parseFailure("analysis-cache");
+                    throw e;
+                }
+                synchronized (memory) {
+                    memory.put(key, new Entry(cached, storedAt));
+                }
+                persistentHits.incrementAndGet();
+                return cached;
+            } catch (NoSuchKeyException e) {
+                // 캐시 미스
+            } catch (Exception e) {
+                log.warn("S3 분석 캐시 조회 실패 (key: {}): {}", key, e.getMessage());
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * 분석 결과를 캐시에 저장합니다. S3 저장 실패는 분석 흐름에 영향을 주지 않습니다.
+     */
+    public void put(String key, Map<String, Map<String, String>> analysisResult) {
+        if (!enabled || analysisResult == null) {
+            return;
+        }
+        synchronized (memory) {
+            memory.put(key, new Entry(analysisResult, System.currentTimeMillis()));
+        }
+        if (isPersistent()) {
+            try {
+                PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                        .bucket(s3BucketName)
+                        .key(CACHE_PREFIX + key + ".json")
+                        .contentType("application/json")
+                        .build();
+                RequestBody requestBody = RequestBody.fromBytes(objectMapper.writeValueAsBytes(analysisResult));
+                storageMetrics.record("s3", "putObject", () -> s3Client.putObject(putObjectRequest, requestBody));
+            } catch (Exception e) {
+                log.warn("S3 분석 캐시 저장 실패 (key: {}): {}", key, e.getMessage());
+            }
+        }
+    }
+
+    private boolean isExpired(long storedAt, long now) {
+        return now - storedAt >= ttlMillis;
+    }
+
+    private boolean isPersistent() {
+        return persistent && s3Client != null;
+    }
+
+    /**
+     * 캐시 적중/미스/제거 카운터
+     */
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        synchronized (memory) {
+            stats.put("size", (long) memory.size());
+        }
+        stats.put("memoryHits", memoryHits.get());
+        stats.put("persistentHits", persistentHits.get());
+        stats.put("misses", misses.get());
+        stats.put("evictions", evictions.get());
+        stats.put("expirations", expirations.get());
+        return stats;
+    }
+}
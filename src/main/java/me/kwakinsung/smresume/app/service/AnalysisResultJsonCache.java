@@ -0,0 +1,175 @@
+package me.kwakinsung.smresume.app.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// S3 의 분석 결과 JSON(analysis-results/.../result.json)을 파싱한 상태로 보관하는 read-through 캐시
+// 크기는 항목 수가 아니라 JSON 바이트 합계(max-bytes)로 제한하고, ttl 이 지나면 ETag 로 조건부 GET(If-None-Match)을
+// 보내서 바뀌지 않았으면(304) 본문을 다시 받지 않고 그대로 씁니다.
+// gzip 으로 저장된 객체(StorageFormat 버전 2)와 예전 평문 JSON 객체를 모두 읽습니다. (크기는 압축을 푼 JSON 기준)
+@Component
+@ConditionalOnProperty(name = "storage.type", havingValue = "s3", matchIfMissing = true)
+@Slf4j
+public class AnalysisResultJsonCache {
+
+    private static final TypeReference<Map<String, Map<String, String>>> RESULT_TYPE = new TypeReference<>() {};
+    private static final int NOT_MODIFIED = 304;
+
+    private final S3Client s3Client;
+    private final ObjectMapper objectMapper;
+    private final StorageMetrics storageMetrics;
+    private final long maxBytes;
+    private final long ttlMillis;
+
+    @Value("${aws.s3.bucketName}")
+    private String s3BucketName;
+
+    private long totalBytes; // entries 잠금 안에서만 변경
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true); // access-order = LRU
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong revalidations = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private static class Entry {
+        private final Map<String, Map<String, String>> value;
+        private final String eTag;
+        private final long bytes;
+        private volatile long validatedAt;
+
+        Entry(Map<String, Map<String, String>> value, String eTag, long bytes) {
+            this.value = value;
+            this.eTag = eTag;
+            this.bytes = bytes;
+            this.validatedAt = System.currentTimeMillis();
+        }
+    }
+
+    public AnalysisResultJsonCache(S3Client s3Client, ObjectMapper objectMapper, StorageMetrics storageMetrics,
+                                   @Value("${analysis.result-cache.max-bytes:33554432}") long maxBytes,
+                                   @Value("${analysis.result-cache.ttl-seconds:600}") long ttlSeconds) {
+        this.s3Client = s3Client;
+        this.objectMapper = objectMapper;
+        this.storageMetrics = storageMetrics;
+        this.maxBytes = maxBytes;
+        this.ttlMillis = ttlSeconds * 1000L;
+    }
+
+    /**
+     * 분석 결과를 조회합니다. ttl 안이면 S3 에 요청하지 않고, 지났으면 ETag 로 재검증합니다.
+     * @param key S3 객체 키
+     * @return 파싱된 분석 결과
+     * @throws IOException JSON 파싱 실패
+     */
+    public Map<String, Map<String, String>> get(String key) throws IOException {
+        Entry cached;
+        synchronized (entries) {
+            cached = entries.get(key);
+        }
+        if (cached != null && System.currentTimeMillis() - cached.validatedAt < ttlMillis) {
+            hits.incrementAndGet();
+            return cached.value;
+        }
+
+        GetObjectRequest.Builder request = GetObjectRequest.builder()
+                .bucket(s3BucketName)
+                .key(key);
+        if (cached != null && cached.eTag != null) {
+            request.ifNoneMatch(cached.eTag);
+        }
+
+        ResponseBytes<GetObjectResponse> response;
+        try {
+            response = storageMetrics.record("s3", "getObject", () -> s3Client.getObjectAsBytes(request.build()));
+        } catch (S3Exception e) {
+            if (cached != null && e.statusCode() == NOT_MODIFIED) {
+                cached.validatedAt = System.currentTimeMillis();
+                revalidations.incrementAndGet();
+                return cached.value;
+            }
+            throw e;
+        }
+
+        byte[] json;
+        Map<String, Map<String, String>> value;
+        try {
+            json = StorageFormat.decode(response.asByteArrayUnsafe());
+            value = objectMapper.readValue(json, RESULT_TYPE);
+        } catch (IOException e) {
+            storageMetrics.parseFailure("s3-result");
+            throw e;
+        }
+        loads.incrementAndGet();
+        put(key, new Entry(value, response.response().eTag(), json.length));
+        return value;
+    }
+
+    /**
+     * 캐시에서 제거합니다. (분석 기록 삭제 시)
+     */
+    public void evict(String key) {
+        synchronized (entries) {
+            Entry removed = entries.remove(key);
+            if (removed != null) {
+                totalBytes -= removed.bytes;
+            }
+        }
+    }
+
+    /**
+     * 적중/재검증/로드/제거 카운터와 현재 사용량
+     */
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        synchronized (entries) {
+            stats.put("size", (long) entries.size());
+            stats.put("bytes", totalBytes);
+        }
+        stats.put("maxBytes", maxBytes);
+        stats.put("hits", hits.get());
+        stats.put("revalidations", revalidations.get());
+        stats.put("loads", loads.get());
+        stats.put("evictions", evictions.get());
+        return stats;
+    }
+
+    private void put(String key, Entry entry) {
+        if (entry.bytes > maxBytes) {
+            log.debug("분석 결과가 캐시 한도보다 커서 캐시하지 않습니다: {} ({} bytes)", key, entry.bytes);
+            return;
+        }
+        synchronized (entries) {
+            Entry previous = entries.put(key, entry);
+            if (previous != null) {
+                totalBytes -= previous.bytes;
+            }
+            totalBytes += entry.bytes;
+            // 가장 오래 사용하지 않은 항목부터 한도 아래로 내려갈 때까지 제거
+            var iterator = entries.entrySet().iterator();
+            while (totalBytes > maxBytes && iterator.hasNext()) {
+                Map.Entry<String, Entry> eldest = iterator.next();
+                if (eldest.getKey().equals(key)) {
+                    continue;
+                }
+                totalBytes -= eldest.getValue().bytes;
+                iterator.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+}
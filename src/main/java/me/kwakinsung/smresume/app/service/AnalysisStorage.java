@@ -0,0 +1,115 @@
+package me.kwakinsung.smresume.app.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import me.kwakinsung.smresume.app.dto.AnalysisHistoryPage;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 이력서 원본/분석 결과 저장소 (storage.type 으로 구현 선택)
+ * <ul>
+ *     <li>s3 (기본값): ResumeStorageService - 파일은 S3, 메타데이터는 DynamoDB</li>
+ *     <li>local: LocalAnalysisStorage - 단일 서버용, 파일과 사용자별 인덱스를 로컬 디스크에 저장</li>
+ * </ul>
+ * 목록/상세 화면의 메타데이터 Map 키(analysisId, analysisTimestamp, analysisDate, originalFileName, targetJob,
+ * s3ResumePath, s3AnalysisResultPath)는 구현과 관계없이 같습니다. (경로 값은 저장소 안의 키)
+ */
+public interface AnalysisStorage {
+
+    /**
+     * 분석과 동시에 진행되는 원본 이력서 업로드.
+     * analysisId 를 미리 정해 두고 업로드를 먼저 시작한 뒤, 분석이 끝나면 saveAnalysisResultAsync 로 마무리합니다.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    class ResumeUpload {
+        private final String analysisId;
+        private final String resumeFileKey;
+        private final CompletableFuture<Void> completion;
+    }
+
+    /**
+     * 디스크에 있는 이력서 파일의 저장을 시작합니다. 반환된 업로드가 끝나기 전에는 파일을 지우면 안 됩니다.
+     * @param userId 사용자 ID
+     * @param resumeFile 이력서 파일 경로
+     * @param originalFileName 원본 파일명
+     * @return 진행 중인 업로드
+     */
+    ResumeUpload startResumeUpload(String userId, Path resumeFile, String originalFileName);
+
+    /**
+     * 분석 결과와 메타데이터를 저장합니다.
+     * @param resumeUpload startResumeUpload 로 시작한 업로드 (텍스트 직접 입력이면 null)
+     * @return 저장된 분석 ID 로 완료되는 future (실패 시 null 로 완료)
+     */
+    CompletableFuture<String> saveAnalysisResultAsync(String userId, ResumeUpload resumeUpload, String originalFileName,
+                                                      Map<String, Map<String, String>> analysisResultMap, String targetJob);
+
+    /**
+     * 분석에 쓴 청크 요약(내용 해시 -> 요약)을 분석 결과 옆에 저장합니다. (수정한 이력서를 다시 분석할 때 재사용)
+     * @return 완료 future (실패해도 분석 기록에는 영향 없음)
+     */
+    CompletableFuture<Void> saveChunkSummaries(String userId, String analysisId, Map<String, String> chunkSummaries);
+
+    /**
+     * 분석에 저장된 청크 요약 (없으면 빈 Map)
+     */
+    Map<String, String> getChunkSummaries(String userId, String analysisId);
+
+    /**
+     * 분석한 이력서의 정리된 추출 텍스트를 원본 옆(resumes/{userId}/{analysisId}/extracted.txt.gz)에 압축해서 저장합니다.
+     * 다른 목표 직무로 다시 분석할 때 원본 파일을 다시 읽고 파싱하지 않기 위한 것입니다.
+     * @return 완료 future (실패해도 분석 기록에는 영향 없음)
+     */
+    CompletableFuture<Void> saveExtractedText(String userId, String analysisId, String text);
+
+    /**
+     * 분석에 저장된 추출 텍스트 (없으면 null)
+     */
+    String getExtractedText(String userId, String analysisId);
+
+    /**
+     * 분석이 실패/중단되어 필요 없어진 원본 업로드를 정리합니다.
+     */
+    void discardResumeUpload(ResumeUpload resumeUpload);
+
+    /**
+     * 사용자의 모든 분석 기록 (최신순)
+     */
+    List<Map<String, String>> getUserAnalysisResults(String userId);
+
+    /**
+     * 분석 기록 목록의 한 페이지 (최신순)
+     * @param cursor 이전 응답의 nextCursor/prevCursor (첫 페이지면 null)
+     */
+    AnalysisHistoryPage getUserAnalysisResultsPage(String userId, int pageSize, String cursor);
+
+    /**
+     * 특정 분석 기록의 메타데이터 (없거나 다른 사용자의 기록이면 null)
+     */
+    Map<String, String> getAnalysisMetadata(String userId, String analysisId);
+
+    /**
+     * 저장된 분석 결과 JSON 을 읽습니다. (실패 시 빈 Map)
+     * @param analysisResultPath 메타데이터의 s3AnalysisResultPath
+     */
+    Map<String, Map<String, String>> getAnalysisResult(String analysisResultPath);
+
+    /**
+     * 원본 이력서를 브라우저가 저장소에서 직접 받을 수 있는 다운로드 URL 을 만듭니다.
+     * @param resumePath 메타데이터의 s3ResumePath
+     * @return 다운로드 URL (직접 받을 수 없는 저장소이면 null)
+     */
+    String getResumeDownloadUrl(String resumePath);
+
+    /**
+     * 분석 기록과 원본/결과 파일을 삭제합니다.
+     * @param userId 삭제를 요청한 사용자 ID (보안 검증용)
+     * @return 삭제 성공 여부
+     */
+    boolean deleteAnalysisResult(String userId, String analysisId);
+}
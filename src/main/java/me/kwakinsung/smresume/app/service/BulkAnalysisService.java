@@ -0,0 +1,405 @@
+package me.kwakinsung.smresume.app.service;
+
+import lombok.extern.slf4j.Slf4j;
+import me.kwakinsung.smresume.app.dto.AnalysisJob;
+import me.kwakinsung.smresume.app.dto.BulkAnalysisJob;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+// 여러 이력서를 한 번에 분석하는 일괄 작업 (POST /resume/bulk)
+// 요청 스레드가 파일/ZIP 항목을 하나씩 임시 파일로 옮기는 동안, 이미 받은 파일은 전용 풀(bulkAnalysisExecutor)에서
+// 추출 → OpenAI 분석 → 저장을 진행합니다. ZIP 은 한 항목씩 풀기 때문에 압축 파일 전체를 메모리에 올리지 않습니다.
+// 파일 하나가 실패해도 해당 파일만 FAILED 로 기록하고 나머지는 계속 진행합니다.
+// 단, 받은 파일(ZIP 은 푼 크기)의 합계가 max-total-bytes 를 넘으면 일괄 작업 전체를 중단합니다. (임시 파일로 디스크를 채우지 않도록)
+// 진행 상황은 /topic/bulk-analysis/{batchId} 로 STOMP 푸시하고, 폴링(GET /resume/bulk/{batchId})도 지원합니다.
+@Service
+@Slf4j
+public class BulkAnalysisService {
+
+    public static final String BULK_TOPIC_PREFIX = "/topic/bulk-analysis/";
+
+    private final AnalysisJobService analysisJobService;
+    private final ResumeTextExtractor resumeTextExtractor;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final Executor bulkAnalysisExecutor;
+
+    private final Map<String, BulkAnalysisJob> batches = new ConcurrentHashMap<>();
+    // 아직 끝나지 않은 파일 수 (업로드가 끝났고 이 값이 0 이 되면 일괄 작업 완료)
+    private final Map<String, Integer> pending = new ConcurrentHashMap<>();
+    // 지금까지 임시 파일로 받은 바이트 수 (max-total-bytes 확인용)
+    private final Map<String, Long> receivedBytes = new ConcurrentHashMap<>();
+
+    @Value("${analysis.bulk.max-files:500}") // 일괄 작업 하나에 받을 최대 파일 수
+    private int maxFiles;
+
+    @Value("${analysis.bulk.max-file-bytes:52428800}") // 파일(ZIP 항목) 하나의 최대 크기 (압축 폭탄 방지)
+    private long maxFileBytes;
+
+    @Value("${analysis.bulk.max-total-bytes:524288000}") // 일괄 작업 하나에서 받을 파일 크기 합계 (ZIP 은 푼 크기 기준)
+    private long maxTotalBytes;
+
+    @Value("${analysis.job.retention-minutes:30}") // 끝난 일괄 작업 상태를 메모리에 보관하는 시간
+    private long retentionMinutes;
+
+    @Autowired // 생성자 주입
+    public BulkAnalysisService(AnalysisJobService analysisJobService,
+                               ResumeTextExtractor resumeTextExtractor,
+                               SimpMessagingTemplate messagingTemplate,
+                               @Qualifier("bulkAnalysisExecutor") Executor bulkAnalysisExecutor) {
+        this.analysisJobService = analysisJobService;
+        this.resumeTextExtractor = resumeTextExtractor;
+        this.messagingTemplate = messagingTemplate;
+        this.bulkAnalysisExecutor = bulkAnalysisExecutor;
+    }
+
+    /**
+     * 일괄 작업을 만듭니다. 이후 addFile / addArchive 로 파일을 넣고 마지막에 finishReceiving 을 호출합니다.
+     */
+    public BulkAnalysisJob create(String userId, String targetJob) {
+        purgeExpiredBatches();
+        BulkAnalysisJob batch = new BulkAnalysisJob(UUID.randomUUID().toString(), userId, targetJob);
+        batches.put(batch.getBatchId(), batch);
+        pending.put(batch.getBatchId(), 0);
+        receivedBytes.put(batch.getBatchId(), 0L);
+        log.info("이력서 일괄 분석 작업 생성: batchId={}, userId={}", batch.getBatchId(), userId);
+        return batch;
+    }
+
+    /**
+     * 파일 하나를 임시 파일로 옮기고 분석을 시작합니다.
+     * @param contentType 업로드 Content-Type (없거나 application/octet-stream 이면 확장자로 판단)
+     */
+    public void addFile(BulkAnalysisJob batch, String fileName, String contentType, InputStream in) {
+        BulkAnalysisJob.FileResult file = register(batch, fileName);
+        if (file == null) {
+            return;
+        }
+        String resolvedType = resolveContentType(fileName, contentType);
+        if (!resumeTextExtractor.isSupportedContentType(resolvedType)) {
+            finish(batch, file, BulkAnalysisJob.FileStatus.SKIPPED, null, "지원하지 않는 파일 형식입니다.");
+            return;
+        }
+        Path tempFile = null;
+        try {
+            tempFile = Files.createTempFile("resume-bulk-", ".tmp");
+            copyLimited(batch, in, tempFile);
+        } catch (IOException e) {
+            deleteQuietly(tempFile);
+            log.warn("일괄 분석 파일 저장 실패: batchId={}, file={}, {}", batch.getBatchId(), fileName, e.getMessage());
+            finish(batch, file, BulkAnalysisJob.FileStatus.FAILED, null, e.getMessage());
+            if (e instanceof BatchTooLargeException) {
+                abort(batch, e.getMessage());
+            }
+            return;
+        }
+        dispatch(batch, file, tempFile, resolvedType);
+    }
+
+    /**
+     * ZIP 의 항목을 하나씩 풀면서 addFile 과 같이 처리합니다. (폴더/숨김 파일은 건너뜀)
+     */
+    public void addArchive(BulkAnalysisJob batch, InputStream archive) throws IOException {
+        try (ZipInputStream zip = new ZipInputStream(archive)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                if (entry.isDirectory()) {
+                    continue;
+                }
+                String fileName = fileName(entry.getName());
+                if (fileName.isEmpty() || fileName.startsWith(".") || entry.getName().startsWith("__MACOSX/")) {
+                    continue;
+                }
+                if (isFull(batch)) {
+                    break;
+                }
+                addFile(batch, fileName, null, zip); // ZipInputStream 은 현재 항목 끝에서 -1 을 돌려줌
+            }
+        }
+    }
+
+    /**
+     * 읽지 못한 파일(손상된 ZIP 등)을 실패로 기록합니다.
+     */
+    public void addFailure(BulkAnalysisJob batch, String fileName, String message) {
+        BulkAnalysisJob.FileResult file = register(batch, fileName);
+        if (file != null) {
+            finish(batch, file, BulkAnalysisJob.FileStatus.FAILED, null, message);
+        }
+    }
+
+    /**
+     * 업로드된 파일을 모두 넣었음을 알립니다. 남은 파일이 없으면 바로 완료됩니다.
+     */
+    public void finishReceiving(BulkAnalysisJob batch) {
+        synchronized (batch) {
+            if (batch.getStatus() == BulkAnalysisJob.Status.RECEIVING) {
+                batch.setStatus(BulkAnalysisJob.Status.RUNNING);
+            }
+            completeIfDone(batch);
+            send(batch);
+        }
+    }
+
+    /**
+     * 일괄 작업 상태의 복사본을 조회합니다. 다른 사용자의 작업이면 null 을 반환합니다.
+     */
+    public BulkAnalysisJob getBatch(String userId, String batchId) {
+        BulkAnalysisJob batch = batches.get(batchId);
+        if (batch == null || !batch.getUserId().equals(userId)) {
+            return null;
+        }
+        return snapshot(batch);
+    }
+
+    // 파일 결과 자리를 만듭니다. (최대 파일 수를 넘으면 null)
+    private BulkAnalysisJob.FileResult register(BulkAnalysisJob batch, String fileName) {
+        synchronized (batch) {
+            if (isFull(batch)) {
+                return null;
+            }
+            BulkAnalysisJob.FileResult file = new BulkAnalysisJob.FileResult(batch.getFiles().size(), fileName);
+            batch.getFiles().add(file);
+            batch.setTotal(batch.getFiles().size());
+            pending.merge(batch.getBatchId(), 1, Integer::sum);
+            return file;
+        }
+    }
+
+    private boolean isFull(BulkAnalysisJob batch) {
+        synchronized (batch) {
+            if (batch.isAborted()) {
+                return true;
+            }
+            if (batch.getFiles().size() >= maxFiles) {
+                batch.setMessage("파일 수가 최대(" + maxFiles + "개)를 넘어 나머지 파일은 분석하지 않았습니다.");
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private void dispatch(BulkAnalysisJob batch, BulkAnalysisJob.FileResult file, Path tempFile, String contentType) {
+        AnalysisJob job = analysisJobService.createJob(batch.getUserId(), file.getFileName(), batch.getTargetJob());
+        synchronized (batch) {
+            file.setJobId(job.getJobId());
+        }
+        try {
+            bulkAnalysisExecutor.execute(() -> analyze(batch, file, job, tempFile, contentType));
+        } catch (RejectedExecutionException e) {
+            analysisJobService.removeJob(job);
+            synchronized (batch) {
+                file.setJobId(null);
+            }
+            deleteQuietly(tempFile);
+            log.warn("일괄 분석 대기열이 가득 찼습니다: batchId={}, file={}", batch.getBatchId(), file.getFileName());
+            finish(batch, file, BulkAnalysisJob.FileStatus.FAILED, null, "현재 분석 요청이 많아 처리하지 못했습니다.");
+        }
+    }
+
+    // bulkAnalysisExecutor 스레드에서 파일 하나를 분석합니다. 저장은 비동기로 끝나며, 그때 파일 결과를 기록합니다.
+    private void analyze(BulkAnalysisJob batch, BulkAnalysisJob.FileResult file, AnalysisJob job,
+                         Path tempFile, String contentType) {
+        long start = System.currentTimeMillis();
+        synchronized (batch) {
+            if (batch.isAborted()) {
+                // 중단된 일괄 작업에서 아직 시작하지 않은 파일은 분석하지 않음
+                analysisJobService.removeJob(job);
+                file.setJobId(null);
+                deleteQuietly(tempFile);
+                finish(batch, file, BulkAnalysisJob.FileStatus.FAILED, null, "일괄 작업이 중단되어 분석하지 않았습니다.");
+                return;
+            }
+            file.setStatus(BulkAnalysisJob.FileStatus.RUNNING);
+        }
+        try {
+            analysisJobService.analyzeNow(job, tempFile, contentType).whenComplete((analysisId, error) -> {
+                synchronized (batch) {
+                    file.setElapsedMillis(System.currentTimeMillis() - start); // 저장 완료까지
+                }
+                if (analysisId != null) {
+                    finish(batch, file, BulkAnalysisJob.FileStatus.SAVED, analysisId, null);
+                } else {
+                    String message = job.getMessage() != null ? job.getMessage() : "분석 결과 저장에 실패했습니다.";
+                    finish(batch, file, BulkAnalysisJob.FileStatus.FAILED, null, message);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.error("일괄 분석 파일 처리 중 오류: batchId={}, file={}", batch.getBatchId(), file.getFileName(), e);
+            finish(batch, file, BulkAnalysisJob.FileStatus.FAILED, null, "이력서 분석 중 오류가 발생했습니다.");
+        }
+    }
+
+    private void finish(BulkAnalysisJob batch, BulkAnalysisJob.FileResult file, BulkAnalysisJob.FileStatus status,
+                        String analysisId, String message) {
+        synchronized (batch) {
+            file.setStatus(status);
+            file.setAnalysisId(analysisId);
+            file.setMessage(message);
+            switch (status) {
+                case SAVED -> batch.setSaved(batch.getSaved() + 1);
+                case FAILED -> batch.setFailed(batch.getFailed() + 1);
+                case SKIPPED -> batch.setSkipped(batch.getSkipped() + 1);
+                default -> {
+                }
+            }
+            pending.merge(batch.getBatchId(), -1, Integer::sum);
+            completeIfDone(batch);
+            send(batch);
+        }
+    }
+
+    // 더 이상 파일을 받지 않고, 대기 중인 파일은 analyze 에서 건너뜁니다. (이미 분석 중인 파일은 끝까지 진행)
+    private void abort(BulkAnalysisJob batch, String reason) {
+        synchronized (batch) {
+            batch.setAborted(true);
+            batch.setMessage("일괄 작업을 중단했습니다: " + reason);
+            batch.setUpdatedAt(System.currentTimeMillis());
+            send(batch);
+        }
+        log.warn("이력서 일괄 분석 중단: batchId={}, {}", batch.getBatchId(), reason);
+    }
+
+    private void completeIfDone(BulkAnalysisJob batch) {
+        if (batch.getStatus() == BulkAnalysisJob.Status.RUNNING && pending.getOrDefault(batch.getBatchId(), 0) <= 0) {
+            batch.setStatus(BulkAnalysisJob.Status.DONE);
+            log.info("이력서 일괄 분석 완료: batchId={}, 전체 {}개 (저장 {}, 실패 {}, 건너뜀 {})", batch.getBatchId(),
+                    batch.getTotal(), batch.getSaved(), batch.getFailed(), batch.getSkipped());
+        }
+        batch.setUpdatedAt(System.currentTimeMillis());
+    }
+
+    private void send(BulkAnalysisJob batch) {
+        try {
+            messagingTemplate.convertAndSend(BULK_TOPIC_PREFIX + batch.getBatchId(), snapshot(batch));
+        } catch (Exception e) {
+            // 푸시 실패는 폴링으로 보완
+            log.debug("일괄 작업 진행 이벤트 전송 실패: batchId={}, {}", batch.getBatchId(), e.getMessage());
+        }
+    }
+
+    // 직렬화하는 동안 다른 스레드가 목록을 바꾸지 않도록 잠금 안에서 복사합니다.
+    private BulkAnalysisJob snapshot(BulkAnalysisJob batch) {
+        synchronized (batch) {
+            BulkAnalysisJob copy = new BulkAnalysisJob(batch.getBatchId(), batch.getUserId(), batch.getTargetJob());
+            copy.setStatus(batch.getStatus());
+            copy.setAborted(batch.isAborted());
+            copy.setTotal(batch.getTotal());
+            copy.setSaved(batch.getSaved());
+            copy.setFailed(batch.getFailed());
+            copy.setSkipped(batch.getSkipped());
+            copy.setMessage(batch.getMessage());
+            copy.setCreatedAt(batch.getCreatedAt());
+            copy.setUpdatedAt(batch.getUpdatedAt());
+            for (BulkAnalysisJob.FileResult file : batch.getFiles()) {
+                BulkAnalysisJob.FileResult fileCopy = new BulkAnalysisJob.FileResult(file.getIndex(), file.getFileName());
+                fileCopy.setStatus(file.getStatus());
+                fileCopy.setJobId(file.getJobId());
+                fileCopy.setAnalysisId(file.getAnalysisId());
+                fileCopy.setMessage(file.getMessage());
+                fileCopy.setElapsedMillis(file.getElapsedMillis());
+                copy.getFiles().add(fileCopy);
+            }
+            return copy;
+        }
+    }
+
+    // 일괄 작업의 전체 크기 한도를 넘은 경우 (작업 전체 중단)
+    private static class BatchTooLargeException extends IOException {
+        BatchTooLargeException(String message) {
+            super(message);
+        }
+    }
+
+    // max-file-bytes 와 일괄 작업에 남은 max-total-bytes 까지만 복사 (넘으면 IOException)
+    private void copyLimited(BulkAnalysisJob batch, InputStream in, Path target) throws IOException {
+        long remaining = maxTotalBytes - receivedBytes.getOrDefault(batch.getBatchId(), 0L);
+        byte[] buffer = new byte[64 * 1024];
+        long copied = 0;
+        try (OutputStream out = Files.newOutputStream(target)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                copied += read;
+                if (copied > maxFileBytes) {
+                    throw new IOException("파일이 너무 큽니다. (최대 " + maxFileBytes / (1024 * 1024) + "MB)");
+                }
+                if (copied > remaining) {
+                    throw new BatchTooLargeException("파일 크기 합계가 최대(" + maxTotalBytes / (1024 * 1024) + "MB)를 넘었습니다.");
+                }
+                out.write(buffer, 0, read);
+            }
+        } finally {
+            receivedBytes.merge(batch.getBatchId(), copied, Long::sum);
+        }
+    }
+
+    // 브라우저/압축 프로그램이 Content-Type 을 주지 않는 경우가 많아 확장자로 판단합니다.
+    private static String resolveContentType(String fileName, String contentType) {
+        if (contentType != null && !contentType.isEmpty() && !contentType.startsWith("application/octet-stream")) {
+            return contentType;
+        }
+        String lower = fileName.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".pdf")) {
+            return ResumeTextExtractor.CONTENT_TYPE_PDF;
+        }
+        if (lower.endsWith(".docx")) {
+            return ResumeTextExtractor.CONTENT_TYPE_DOCX;
+        }
+        if (lower.endsWith(".txt")) {
+            return "text/plain";
+        }
+        return contentType;
+    }
+
+    /**
+     * ZIP 으로 받은 파일인지 판단합니다.
+     */
+    public static boolean isArchive(String fileName, String contentType) {
+        return (contentType != null && (contentType.equals("application/zip") || contentType.equals("application/x-zip-compressed")))
+                || (fileName != null && fileName.toLowerCase(Locale.ROOT).endsWith(".zip"));
+    }
+
+    private static String fileName(String entryName) {
+        String name = entryName.replace('\\', '/');
+        return name.substring(name.lastIndexOf('/') + 1);
+    }
+
+    private void purgeExpiredBatches() {
+        long expireBefore = System.currentTimeMillis() - retentionMinutes * 60_000L;
+        batches.values().removeIf(batch -> {
+            boolean expired = batch.isFinished() && batch.getUpdatedAt() < expireBefore;
+            if (expired) {
+                pending.remove(batch.getBatchId());
+                receivedBytes.remove(batch.getBatchId());
+            }
+            return expired;
+        });
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("임시 업로드 파일 삭제 실패: {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package me.kwakinsung.smresume.app.service;
+
+import lombok.extern.slf4j.Slf4j;
+import me.kwakinsung.smresume.app.dto.AnalysisHistoryPage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+// 수정한 이력서를 다시 분석할 때 바뀌지 않은 청크의 요약을 재사용하기 위한 저장소
+// 청크 요약은 분석마다 analysis-results/{userId}/{analysisId}/chunks.json (내용 해시 -> 요약)으로 저장됩니다.
+// 사용자별로 메모리에 모아 두고, 없으면 최근 분석(lookback 개)의 chunks.json 을 한 번 읽어 채웁니다.
+@Component
+@Slf4j
+public class ChunkSummaryStore {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int MAX_SUMMARIES_PER_USER = 256;
+
+    private final AnalysisStorage analysisStorage;
+    private final boolean enabled;
+    private final int lookback;
+    private final long ttlMillis;
+    private final Map<String, UserEntry> users;
+
+    private static class UserEntry {
+        private final long createdAt = System.currentTimeMillis();
+        private boolean loadedFromStorage;
+        // 오래 쓰지 않은 요약부터 버림
+        private final Map<String, String> summaries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > MAX_SUMMARIES_PER_USER;
+            }
+        };
+    }
+
+    public ChunkSummaryStore(AnalysisStorage analysisStorage,
+                             @Value("${analysis.chunk-reuse.enabled:true}") boolean enabled,
+                             @Value("${analysis.chunk-reuse.lookback:3}") int lookback,
+                             @Value("${analysis.chunk-reuse.max-users:1000}") int maxUsers,
+                             @Value("${analysis.chunk-reuse.ttl-minutes:30}") long ttlMinutes) {
+        this.analysisStorage = analysisStorage;
+        this.enabled = enabled;
+        this.lookback = lookback;
+        this.ttlMillis = ttlMinutes * 60_000L;
+        // access-order LinkedHashMap = LRU
+        this.users = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, UserEntry> eldest) {
+                return size() > maxUsers;
+            }
+        };
+    }
+
+    /**
+     * 청크 내용 해시. 공백을 정규화한 청크, 모델, 프롬프트 버전의 SHA-256 입니다.
+     */
+    public static String hash(String chunk, String model, String promptVersion) {
+        String normalized = WHITESPACE.matcher(chunk).replaceAll(" ").strip();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(normalized.getBytes(StandardCharsets.UTF_8));
+            for (String part : new String[]{model, promptVersion}) {
+                digest.update((byte) 0); // 구분자
+                digest.update(part.getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", e);
+        }
+    }
+
+    /**
+     * 사용자가 이전에 분석한 청크 중 해시가 같은 것의 요약을 찾습니다.
+     * @return 해시 -> 요약 (찾은 것만)
+     */
+    public Map<String, String> find(String userId, Collection<String> hashes) {
+        Map<String, String> found = new HashMap<>();
+        if (!enabled || userId == null || hashes.isEmpty()) {
+            return found;
+        }
+        boolean loadNeeded;
+        synchronized (users) {
+            UserEntry entry = entry(userId);
+            collect(entry, hashes, found);
+            loadNeeded = found.size() < new HashSet<>(hashes).size() && !entry.loadedFromStorage;
+        }
+        if (!loadNeeded) {
+            return found;
+        }
+
+        // 메모리에 없으면 (서버 재시작, 다른 서버에서 분석) 최근 분석의 청크 요약을 읽어 옴
+        Map<String, String> loaded = new HashMap<>();
+        try {
+            AnalysisHistoryPage recent = analysisStorage.getUserAnalysisResultsPage(userId, lookback, null);
+            for (Map<String, String> item : recent.getItems()) {
+                loaded.putAll(analysisStorage.getChunkSummaries(userId, item.get("analysisId")));
+            }
+        } catch (RuntimeException e) {
+            log.warn("이전 청크 요약 조회 실패 (userId={}): {}", userId, e.getMessage());
+        }
+        synchronized (users) {
+            UserEntry entry = entry(userId);
+            loaded.forEach(entry.summaries::putIfAbsent);
+            entry.loadedFromStorage = true;
+            collect(entry, hashes, found);
+        }
+        return found;
+    }
+
+    /**
+     * 이번 분석에서 만든(또는 재사용한) 청크 요약을 기억합니다.
+     */
+    public void remember(String userId, Map<String, String> summaries) {
+        if (!enabled || userId == null || summaries.isEmpty()) {
+            return;
+        }
+        synchronized (users) {
+            entry(userId).summaries.putAll(summaries);
+        }
+    }
+
+    private void collect(UserEntry entry, Collection<String> hashes, Map<String, String> found) {
+        for (String hash : hashes) {
+            String summary = entry.summaries.get(hash);
+            if (summary != null) {
+                found.put(hash, summary);
+            }
+        }
+    }
+
+    // users 잠금 안에서 호출
+    private UserEntry entry(String userId) {
+        UserEntry entry = users.get(userId);
+        if (entry == null || System.currentTimeMillis() - entry.createdAt > ttlMillis) {
+            entry = new UserEntry(); // 만료: 삭제된 분석의 요약이 오래 남지 않도록
+            users.put(userId, entry);
+        }
+        return entry;
+    }
+}
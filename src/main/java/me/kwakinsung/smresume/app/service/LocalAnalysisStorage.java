@@ -0,0 +1,602 @@
+package me.kwakinsung.smresume.app.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import lombok.extern.slf4j.Slf4j;
+import me.kwakinsung.smresume.app.dto.AnalysisHistoryPage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+// storage.type=local: 단일 서버(온프레미스)용 로컬 디스크 저장소
+// 파일 배치는 S3 키와 같습니다. (storage.local.base-dir 아래)
+//   resumes/{userId}/{analysisId}/{originalFileName}        원본 이력서 (FileChannel.transferTo 로 복사)
+//   resumes/{userId}/{analysisId}/extracted.txt.gz          정리된 추출 텍스트 (gzip, 다른 직무로 재분석할 때 사용)
+//   analysis-results/{userId}/{analysisId}/result.json      분석 결과 (임시 파일에 쓴 뒤 원자적 이동, 읽기는 mmap)
+//   analysis-results/{userId}/{analysisId}/chunks.json      청크 요약 (내용 해시 -> 요약)
+//   index/{userId}.idx                                      사용자별 메타데이터 인덱스 (추가 전용 레코드 로그)
+// 인덱스는 처음 조회할 때 mmap 으로 한 번 읽어 메모리에 올리고, 이후 목록/상세 조회는 디스크/네트워크 없이 처리합니다.
+@Service
+@ConditionalOnProperty(name = "storage.type", havingValue = "local")
+@Slf4j
+public class LocalAnalysisStorage implements AnalysisStorage {
+
+    private static final TypeReference<Map<String, Map<String, String>>> RESULT_TYPE = new TypeReference<>() {};
+    private static final TypeReference<Map<String, String>> CHUNKS_TYPE = new TypeReference<>() {};
+    private static final DateTimeFormatter ANALYSIS_DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    // 인덱스 레코드 종류 (레코드 = 종류 1바이트 + 본문)
+    private static final byte RECORD_PUT = 1;    // timestamp(long) analysisId originalFileName targetJob resumeKey resultKey (modified UTF-8)
+    private static final byte RECORD_DELETE = 2; // analysisId
+    // 삭제 레코드가 이 수 이상이고 살아 있는 항목보다 많으면 인덱스 파일을 다시 씀
+    private static final int COMPACT_MIN_DELETES = 32;
+
+    private final ObjectMapper objectMapper;
+    private final StorageMetrics storageMetrics;
+    private final Path baseDir;
+    private final boolean fsync;
+
+    private final Map<String, UserIndex> indexes = new ConcurrentHashMap<>();
+
+    private record IndexEntry(long timestamp, String analysisId, String originalFileName, String targetJob,
+                              String resumeKey, String resultKey) {
+    }
+
+    // 사용자 한 명의 인덱스 (오래된 순서로 보관, 잠금은 인스턴스 단위)
+    private static class UserIndex {
+        private final Path file;
+        private final LinkedHashMap<String, IndexEntry> entries = new LinkedHashMap<>();
+        private int deletedRecords;
+        private boolean loaded; // 인스턴스 잠금 안에서만 변경
+
+        UserIndex(Path file) {
+            this.file = file;
+        }
+    }
+
+    public LocalAnalysisStorage(ObjectMapper objectMapper, StorageMetrics storageMetrics,
+                                @Value("${storage.local.base-dir:./data/storage}") String baseDir,
+                                @Value("${storage.local.fsync:true}") boolean fsync) throws IOException {
+        this.objectMapper = objectMapper;
+        this.storageMetrics = storageMetrics;
+        this.baseDir = Path.of(baseDir).toAbsolutePath().normalize();
+        this.fsync = fsync;
+        Files.createDirectories(this.baseDir.resolve("index"));
+        log.info("로컬 분석 저장소 사용: {}", this.baseDir);
+    }
+
+    /**
+     * 이력서 파일을 저장소로 복사합니다. 로컬 디스크 간 복사는 짧으므로 호출 스레드에서 바로 끝냅니다.
+     */
+    @Override
+    public ResumeUpload startResumeUpload(String userId, Path resumeFile, String originalFileName) {
+        String analysisId = UUID.randomUUID().toString();
+        String resumeFileKey = "resumes/" + segment(userId) + "/" + analysisId + "/" + segment(fileName(originalFileName));
+        CompletableFuture<Void> completion = new CompletableFuture<>();
+        try {
+            storageMetrics.record("local", "copyResume", () -> {
+                copy(resumeFile, resolve(resumeFileKey));
+                return null;
+            });
+            completion.complete(null);
+        } catch (RuntimeException e) {
+            log.error("이력서 파일 저장 실패: {}", resumeFileKey, e);
+            completion.completeExceptionally(e);
+        }
+        return new ResumeUpload(analysisId, resumeFileKey, completion);
+    }
+
+    @Override
+    public CompletableFuture<String> saveAnalysisResultAsync(String userId, ResumeUpload resumeUpload, String originalFileName,
+                                                             Map<String, Map<String, String>> analysisResultMap, String targetJob) {
+        if (userId == null || userId.isEmpty()) {
+            log.warn("사용자 ID가 없어 이력서 분석 결과를 저장할 수 없습니다.");
+            return CompletableFuture.completedFuture(null);
+        }
+        if (resumeUpload != null && resumeUpload.getCompletion().isCompletedExceptionally()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        String analysisId = resumeUpload != null ? resumeUpload.getAnalysisId() : UUID.randomUUID().toString();
+        String resumeFileKey = resumeUpload != null ? resumeUpload.getResumeFileKey() : "N/A";
+        String resultKey = "analysis-results/" + segment(userId) + "/" + analysisId + "/result.json";
+        IndexEntry entry = new IndexEntry(Instant.now().getEpochSecond(), analysisId,
+                originalFileName != null ? originalFileName : "텍스트 직접 입력",
+                targetJob != null ? targetJob : "", resumeFileKey, resultKey);
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(analysisResultMap);
+            storageMetrics.record("local", "writeResult", () -> {
+                try {
+                    writeAtomically(resolve(resultKey), json);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return null;
+            });
+            UserIndex index = index(userId);
+            synchronized (index) {
+                append(index, putRecord(entry));
+                index.entries.put(analysisId, entry);
+            }
+            log.info("로컬 저장소에 분석 결과 저장 완료: userId={}, analysisId={}", userId, analysisId);
+            return CompletableFuture.completedFuture(analysisId);
+        } catch (IOException | RuntimeException e) {
+            log.error("분석 결과 저장 실패 (userId={}, analysisId={}): {}", userId, analysisId, e.getMessage(), e);
+            deleteQuietly(resultKey);
+            if (resumeUpload != null) {
+                deleteQuietly(resumeFileKey);
+            }
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> saveChunkSummaries(String userId, String analysisId, Map<String, String> chunkSummaries) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(chunkSummaries);
+            writeAtomically(resolve(chunkSummariesKey(userId, analysisId)), json);
+            return CompletableFuture.completedFuture(null);
+        } catch (IOException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public Map<String, String> getChunkSummaries(String userId, String analysisId) {
+        Path file = resolve(chunkSummariesKey(userId, analysisId));
+        if (!Files.exists(file)) {
+            return new HashMap<>();
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return objectMapper.readValue(new ByteBufferBackedInputStream(buffer), CHUNKS_TYPE);
+        } catch (IOException e) {
+            log.warn("청크 요약 파일 로드 실패 (경로: {}): {}", file, e.getMessage());
+            return new HashMap<>();
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> saveExtractedText(String userId, String analysisId, String text) {
+        try {
+            byte[] compressed = StorageFormat.encode(text.getBytes(StandardCharsets.UTF_8), StorageFormat.COMPACT);
+            writeAtomically(resolve(extractedTextKey(userId, analysisId)), compressed);
+            return CompletableFuture.completedFuture(null);
+        } catch (IOException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public String getExtractedText(String userId, String analysisId) {
+        Path file = resolve(extractedTextKey(userId, analysisId));
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            return new String(StorageFormat.decode(Files.readAllBytes(file)), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            log.warn("추출 텍스트 파일 로드 실패 (경로: {}): {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public void discardResumeUpload(ResumeUpload resumeUpload) {
+        if (resumeUpload != null && !resumeUpload.getCompletion().isCompletedExceptionally()) {
+            deleteQuietly(resumeUpload.getResumeFileKey());
+        }
+    }
+
+    @Override
+    public List<Map<String, String>> getUserAnalysisResults(String userId) {
+        if (userId == null || userId.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<IndexEntry> newestFirst = newestFirst(userId);
+        List<Map<String, String>> results = new ArrayList<>(newestFirst.size());
+        for (IndexEntry entry : newestFirst) {
+            results.add(toHistoryItem(userId, entry));
+        }
+        return results;
+    }
+
+    // 커서: "n:{analysisId}" = 그 항목 다음(더 오래된) 페이지, "p:{analysisId}" = 그 항목 이전(더 최신) 페이지
+    @Override
+    public AnalysisHistoryPage getUserAnalysisResultsPage(String userId, int pageSize, String cursor) {
+        if (userId == null || userId.isEmpty()) {
+            return new AnalysisHistoryPage(new ArrayList<>(), null, null);
+        }
+        List<IndexEntry> newestFirst = newestFirst(userId);
+
+        int from = 0;
+        String decoded = decodeCursor(cursor);
+        if (decoded != null) {
+            int position = indexOf(newestFirst, decoded.substring(2));
+            if (position >= 0) {
+                from = decoded.startsWith("n:") ? position + 1 : Math.max(0, position - pageSize);
+            }
+        }
+        int to = Math.min(newestFirst.size(), from + pageSize);
+
+        List<Map<String, String>> items = new ArrayList<>(Math.max(0, to - from));
+        for (int i = from; i < to; i++) {
+            items.add(toHistoryItem(userId, newestFirst.get(i)));
+        }
+        String nextCursor = to < newestFirst.size() && !items.isEmpty()
+                ? encodeCursor("n:" + newestFirst.get(to - 1).analysisId()) : null;
+        String prevCursor = from > 0 && !items.isEmpty()
+                ? encodeCursor("p:" + newestFirst.get(from).analysisId()) : null;
+        return new AnalysisHistoryPage(items, nextCursor, prevCursor);
+    }
+
+    @Override
+    public Map<String, String> getAnalysisMetadata(String userId, String analysisId) {
+        if (userId == null || userId.isEmpty() || analysisId == null || analysisId.isEmpty()) {
+            return null;
+        }
+        UserIndex index = index(userId); // 사용자별 인덱스이므로 다른 사용자의 기록은 찾을 수 없음
+        IndexEntry entry;
+        synchronized (index) {
+            entry = index.entries.get(analysisId);
+        }
+        return entry != null ? toHistoryItem(userId, entry) : null;
+    }
+
+    @Override
+    public Map<String, Map<String, String>> getAnalysisResult(String analysisResultPath) {
+        if (analysisResultPath == null || analysisResultPath.isEmpty() || "N/A".equals(analysisResultPath)) {
+            log.warn("분석 결과 경로가 유효하지 않습니다: {}", analysisResultPath);
+            return new HashMap<>();
+        }
+        try {
+            return storageMetrics.record("local", "readResult", () -> {
+                try (FileChannel channel = FileChannel.open(resolve(analysisResultPath), StandardOpenOption.READ)) {
+                    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                    return objectMapper.readValue(new ByteBufferBackedInputStream(buffer), RESULT_TYPE);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.error("분석 결과 JSON 파일 로드 실패 (경로: {}): {}", analysisResultPath, e.getMessage(), e);
+            return new HashMap<>();
+        }
+    }
+
+    // 로컬 디스크는 브라우저가 직접 받을 수 있는 저장소가 아니므로 다운로드 링크를 만들지 않습니다.
+    @Override
+    public String getResumeDownloadUrl(String resumePath) {
+        return null;
+    }
+
+    @Override
+    public boolean deleteAnalysisResult(String userId, String analysisId) {
+        if (userId == null || userId.isEmpty() || analysisId == null || analysisId.isEmpty()) {
+            log.warn("삭제 요청에 필요한 사용자 ID 또는 분석 ID가 누락되었습니다. userId={}, analysisId={}", userId, analysisId);
+            return false;
+        }
+        UserIndex index = index(userId);
+        IndexEntry removed;
+        try {
+            synchronized (index) {
+                removed = index.entries.get(analysisId);
+                if (removed == null) {
+                    log.warn("삭제할 분석 기록을 찾을 수 없습니다. userId={}, analysisId={}", userId, analysisId);
+                    return false;
+                }
+                append(index, deleteRecord(analysisId));
+                index.entries.remove(analysisId);
+                index.deletedRecords++;
+                if (index.deletedRecords >= COMPACT_MIN_DELETES && index.deletedRecords > index.entries.size()) {
+                    compact(index);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("이력서 분석 기록 삭제 실패 (userId={}, analysisId={}): {}", userId, analysisId, e.getMessage(), e);
+            return false;
+        }
+        // 인덱스에서 지운 뒤에는 파일 삭제가 실패해도 기록 삭제는 성공으로 처리
+        if (!"N/A".equals(removed.resumeKey())) {
+            deleteQuietly(removed.resumeKey());
+        }
+        deleteQuietly(extractedTextKey(userId, analysisId));
+        deleteQuietly(chunkSummariesKey(userId, analysisId));
+        deleteQuietly(removed.resultKey());
+        log.info("로컬 저장소에서 분석 기록 삭제 완료: userId={}, analysisId={}", userId, analysisId);
+        return true;
+    }
+
+    // 사용자 인덱스 (처음 접근할 때 파일에서 로드)
+    // 파일 읽기는 맵 잠금이 아니라 인덱스 인스턴스 잠금 안에서 합니다. (다른 사용자의 조회를 막지 않고, 로드 중 추가 쓰기도 없음)
+    private UserIndex index(String userId) {
+        UserIndex index = indexes.get(userId);
+        if (index == null) {
+            UserIndex created = new UserIndex(baseDir.resolve("index").resolve(segment(userId) + ".idx"));
+            index = indexes.putIfAbsent(userId, created);
+            if (index == null) {
+                index = created;
+            }
+        }
+        synchronized (index) {
+            if (!index.loaded) {
+                UserIndex target = index;
+                storageMetrics.record("local", "loadIndex", () -> {
+                    load(target);
+                    return null;
+                });
+                index.loaded = true;
+            }
+        }
+        return index;
+    }
+
+    private List<IndexEntry> newestFirst(String userId) {
+        UserIndex index = index(userId);
+        List<IndexEntry> entries;
+        synchronized (index) {
+            entries = new ArrayList<>(index.entries.values());
+        }
+        // 저장 순서 = 시간 순서이므로 뒤집기만 하면 최신순 (같은 초에 저장된 기록도 순서 유지)
+        Collections.reverse(entries);
+        return entries;
+    }
+
+    // 인덱스 파일을 mmap 으로 읽어 레코드를 재생합니다.
+    // 마지막 레코드가 파일 끝에서 잘려 있으면(쓰기 도중 종료) 원본을 .corrupt-{시각} 으로 복사해 두고 그 앞까지 잘라냅니다.
+    // 중간의 알 수 없는 레코드 종류나 잘못된 문자열은 자르지 않고 실패합니다. (뒤의 기록을 조용히 잃지 않도록 파일은 그대로 둠)
+    private void load(UserIndex index) {
+        index.entries.clear(); // 실패한 뒤 다시 로드할 때 같은 레코드를 두 번 재생하지 않도록
+        index.deletedRecords = 0;
+        if (!Files.exists(index.file)) {
+            return;
+        }
+        long validLength = 0;
+        try (FileChannel channel = FileChannel.open(index.file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            if (size > 0) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                DataInputStream in = new DataInputStream(new ByteBufferBackedInputStream(buffer));
+                try {
+                    while (buffer.hasRemaining()) {
+                        byte type = in.readByte();
+                        if (type == RECORD_PUT) {
+                            IndexEntry entry = new IndexEntry(in.readLong(), in.readUTF(), in.readUTF(), in.readUTF(),
+                                    in.readUTF(), in.readUTF());
+                            index.entries.put(entry.analysisId(), entry);
+                        } else if (type == RECORD_DELETE) {
+                            if (index.entries.remove(in.readUTF()) != null) {
+                                index.deletedRecords++;
+                            }
+                        } else {
+                            throw new IOException("알 수 없는 인덱스 레코드 종류 " + type + " (위치 " + validLength + ")");
+                        }
+                        validLength = buffer.position();
+                    }
+                } catch (EOFException e) {
+                    Path backup = index.file.resolveSibling(index.file.getFileName() + ".corrupt-" + System.currentTimeMillis());
+                    Files.copy(index.file, backup);
+                    log.warn("인덱스 파일 끝의 잘린 레코드를 잘라냅니다: {} ({} -> {} bytes, 원본: {})",
+                            index.file, size, validLength, backup);
+                    channel.truncate(validLength);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("인덱스 파일을 읽을 수 없습니다: " + index.file, e);
+        }
+    }
+
+    private void append(UserIndex index, byte[] record) throws IOException {
+        storageMetrics.record("local", "appendIndex", () -> {
+            try (FileChannel channel = FileChannel.open(index.file,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                ByteBuffer buffer = ByteBuffer.wrap(record);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                if (fsync) {
+                    channel.force(false);
+                }
+                return null;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    // 살아 있는 항목만 새 파일에 쓰고 원자적으로 교체합니다.
+    private void compact(UserIndex index) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        for (IndexEntry entry : index.entries.values()) {
+            bytes.write(putRecord(entry));
+        }
+        writeAtomically(index.file, bytes.toByteArray());
+        index.deletedRecords = 0;
+        log.debug("인덱스 파일 정리 완료: {} ({}개 항목)", index.file, index.entries.size());
+    }
+
+    private static byte[] putRecord(IndexEntry entry) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(RECORD_PUT);
+        out.writeLong(entry.timestamp());
+        out.writeUTF(entry.analysisId());
+        out.writeUTF(entry.originalFileName());
+        out.writeUTF(entry.targetJob());
+        out.writeUTF(entry.resumeKey());
+        out.writeUTF(entry.resultKey());
+        return bytes.toByteArray();
+    }
+
+    private static byte[] deleteRecord(String analysisId) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(RECORD_DELETE);
+        out.writeUTF(analysisId);
+        return bytes.toByteArray();
+    }
+
+    private Map<String, String> toHistoryItem(String userId, IndexEntry entry) {
+        Map<String, String> item = new HashMap<>(16);
+        item.put("userId", userId);
+        item.put("analysisId", entry.analysisId());
+        item.put("originalFileName", entry.originalFileName());
+        item.put("targetJob", entry.targetJob());
+        item.put("s3AnalysisResultPath", entry.resultKey());
+        item.put("s3ResumePath", entry.resumeKey());
+        item.put("analysisTimestamp", String.valueOf(entry.timestamp()));
+        item.put("analysisDate", LocalDateTime.ofEpochSecond(entry.timestamp(), 0, ZoneOffset.UTC).format(ANALYSIS_DATE_FORMATTER));
+        return item;
+    }
+
+    private static int indexOf(List<IndexEntry> entries, String analysisId) {
+        for (int i = 0; i < entries.size(); i++) {
+            if (entries.get(i).analysisId().equals(analysisId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void copy(Path source, Path target) {
+        try {
+            Files.createDirectories(target.getParent());
+            try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+                 FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                         StandardOpenOption.TRUNCATE_EXISTING)) {
+                long size = in.size();
+                long position = 0;
+                while (position < size) {
+                    position += in.transferTo(position, size - position, out); // 가능하면 커널 내부 복사
+                }
+                if (fsync) {
+                    out.force(false);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 같은 디렉터리의 임시 파일에 쓴 뒤 이동하므로, 읽는 쪽은 완성된 파일만 봅니다.
+    private void writeAtomically(Path target, byte[] data) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(data);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                if (fsync) {
+                    channel.force(false);
+                }
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // 파일과 비어 있게 된 {analysisId} 디렉터리를 지웁니다.
+    private void deleteQuietly(String key) {
+        try {
+            Path file = resolve(key);
+            Files.deleteIfExists(file);
+            try {
+                Files.deleteIfExists(file.getParent());
+            } catch (DirectoryNotEmptyException e) {
+                // 다른 파일이 남아 있으면 그대로 둠
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("로컬 파일 삭제 실패 (경로: {}): {}", key, e.getMessage());
+        }
+    }
+
+    private static String extractedTextKey(String userId, String analysisId) {
+        return "resumes/" + segment(userId) + "/" + segment(analysisId) + "/extracted.txt.gz";
+    }
+
+    private static String chunkSummariesKey(String userId, String analysisId) {
+        return "analysis-results/" + segment(userId) + "/" + segment(analysisId) + "/chunks.json";
+    }
+
+    // 저장소 키 -> 실제 경로 (base-dir 밖으로 나가는 키는 거부)
+    private Path resolve(String key) {
+        Path path = baseDir.resolve(key).normalize();
+        if (!path.startsWith(baseDir)) {
+            throw new IllegalArgumentException("잘못된 저장소 경로: " + key);
+        }
+        return path;
+    }
+
+    // 경로 한 단계로 쓸 수 있도록 구분자/제어 문자를 '_' 로 바꿉니다.
+    private static String segment(String value) {
+        String safe = value.replaceAll("[\\\\/:*?\"<>|\\p{Cntrl}]", "_");
+        return safe.isEmpty() || safe.equals(".") || safe.equals("..") ? "_" : safe;
+    }
+
+    private static String fileName(String originalFileName) {
+        if (originalFileName == null || originalFileName.isBlank()) {
+            return "resume";
+        }
+        Path name = Path.of(originalFileName.replace('\\', '/')).getFileName();
+        return name != null ? name.toString() : "resume";
+    }
+
+    private static String encodeCursor(String cursor) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 잘못된 커서는 첫 페이지로 처리
+    private static String decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (decoded.startsWith("n:") || decoded.startsWith("p:")) {
+                return decoded;
+            }
+        } catch (IllegalArgumentException e) {
+            // fall through
+        }
+        return null;
+    }
+}
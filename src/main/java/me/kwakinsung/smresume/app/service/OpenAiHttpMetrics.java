@@ -0,0 +1,90 @@
+package me.kwakinsung.smresume.app.service;
+
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.pool.PoolStats;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// OpenAI HTTP 호출 지표: 요청 수/상태 코드/지연 시간(인터셉터)과 커넥션 풀 사용량
+@Component
+public class OpenAiHttpMetrics implements ClientHttpRequestInterceptor {
+
+    private final PoolingHttpClientConnectionManager openaiConnectionManager;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong success = new AtomicLong();
+    private final AtomicLong rateLimited = new AtomicLong(); // 429
+    private final AtomicLong clientErrors = new AtomicLong(); // 429 제외 4xx
+    private final AtomicLong serverErrors = new AtomicLong();
+    private final AtomicLong ioErrors = new AtomicLong(); // 타임아웃/연결 실패/취소
+    private final AtomicLong totalLatencyMillis = new AtomicLong();
+    private final AtomicLong maxLatencyMillis = new AtomicLong();
+
+    public OpenAiHttpMetrics(PoolingHttpClientConnectionManager openaiConnectionManager) {
+        this.openaiConnectionManager = openaiConnectionManager;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        requests.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            int status = response.getStatusCode().value();
+            if (status == 429) {
+                rateLimited.incrementAndGet();
+            } else if (status >= 500) {
+                serverErrors.incrementAndGet();
+            } else if (status >= 400) {
+                clientErrors.incrementAndGet();
+            } else {
+                success.incrementAndGet();
+            }
+            return response;
+        } catch (IOException e) {
+            ioErrors.incrementAndGet();
+            throw e;
+        } finally {
+            long elapsed = (System.nanoTime() - start) / 1_000_000;
+            totalLatencyMillis.addAndGet(elapsed);
+            maxLatencyMillis.accumulateAndGet(elapsed, Math::max);
+        }
+    }
+
+    /**
+     * 현재 커넥션 풀 사용량 (leased = 사용 중, available = 유휴, pending = 연결 대기 중인 요청)
+     */
+    public PoolStats getPoolStats() {
+        return openaiConnectionManager.getTotalStats();
+    }
+
+    /**
+     * 호출 카운터와 커넥션 풀 사용량
+     */
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        PoolStats pool = getPoolStats();
+        stats.put("poolLeased", (long) pool.getLeased());
+        stats.put("poolAvailable", (long) pool.getAvailable());
+        stats.put("poolPending", (long) pool.getPending());
+        stats.put("poolMax", (long) pool.getMax());
+        stats.put("requests", requests.get());
+        stats.put("success", success.get());
+        stats.put("rateLimited", rateLimited.get());
+        stats.put("clientErrors", clientErrors.get());
+        stats.put("serverErrors", serverErrors.get());
+        stats.put("ioErrors", ioErrors.get());
+        long count = requests.get();
+        stats.put("avgLatencyMillis", count == 0 ? 0 : totalLatencyMillis.get() / count);
+        stats.put("maxLatencyMillis", maxLatencyMillis.get());
+        return stats;
+    }
+}
@@ -0,0 +1,178 @@
+package me.kwakinsung.smresume.app.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 서버 전체 OpenAI 호출 입장 제어 (분당 요청 수 RPM + 분당 토큰 수 TPM 토큰 버킷)
+// 모든 모델 호출은 acquire 로 버킷에서 요청 1개 + 예상 토큰을 가져간 뒤 호출합니다.
+// 버킷이 비어 있으면 max-wait-ms 까지 기다리고, 대기자가 max-queued 를 넘거나 대기 한도를 넘으면
+// RejectedExecutionException 으로 바로 거절합니다. (분석 작업 풀이 가득 찼을 때와 같은 방식의 역압)
+// 429 를 받으면 pause 로 Retry-After 동안 모든 호출의 입장을 멈춥니다.
+@Component
+@Slf4j
+public class OpenAiRateLimiter {
+
+    private final double requestsPerMilli;
+    private final double tokensPerMilli;
+    private final double requestCapacity;
+    private final double tokenCapacity;
+    private final int maxQueued;
+    private final long maxWaitMillis;
+
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition changed = lock.newCondition();
+    // 아래 상태는 lock 안에서만 변경
+    private double availableRequests;
+    private double availableTokens;
+    private long lastRefill;
+    private long pausedUntil;
+
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicLong admitted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    private final AtomicLong totalWaitMillis = new AtomicLong();
+
+    public OpenAiRateLimiter(@Value("${openai.rate-limit.requests-per-minute:3500}") int requestsPerMinute,
+                             @Value("${openai.rate-limit.tokens-per-minute:90000}") int tokensPerMinute,
+                             @Value("${openai.rate-limit.burst-seconds:10}") int burstSeconds,
+                             @Value("${openai.rate-limit.max-queued:200}") int maxQueued,
+                             @Value("${openai.rate-limit.max-wait-ms:60000}") long maxWaitMillis) {
+        this.requestsPerMilli = requestsPerMinute / 60_000.0;
+        this.tokensPerMilli = tokensPerMinute / 60_000.0;
+        // 한 번에 몰아서 쓸 수 있는 양 (burst-seconds 만큼의 허용량, 최소 요청 1개)
+        this.requestCapacity = Math.max(1, requestsPerMilli * burstSeconds * 1000);
+        this.tokenCapacity = Math.max(1, tokensPerMilli * burstSeconds * 1000);
+        this.maxQueued = maxQueued;
+        this.maxWaitMillis = maxWaitMillis;
+        this.availableRequests = requestCapacity;
+        this.availableTokens = tokenCapacity;
+        this.lastRefill = System.currentTimeMillis();
+    }
+
+    /**
+     * 호출 허가를 받습니다. 허가가 날 때까지 최대 max-wait-ms 동안 기다립니다.
+     * @param estimatedTokens 이번 호출의 예상 토큰 수 (프롬프트 + 응답)
+     * @return 실제로 예약한 토큰 수 (호출 후 adjust 에 넘김)
+     * @throws RejectedExecutionException 대기열이 가득 찼거나 대기 한도 안에 허가를 받을 수 없을 때
+     */
+    public int acquire(int estimatedTokens) {
+        if (waiting.incrementAndGet() > maxQueued) {
+            waiting.decrementAndGet();
+            rejected.incrementAndGet();
+            throw new RejectedExecutionException("OpenAI 호출 대기열이 가득 찼습니다.");
+        }
+        // 버킷보다 큰 요청은 버킷 크기만큼만 예약 (영원히 못 들어가는 일이 없도록)
+        int tokens = (int) Math.min(Math.max(1, estimatedTokens), tokenCapacity);
+        long start = System.currentTimeMillis();
+        long deadline = start + maxWaitMillis;
+        try {
+            lock.lockInterruptibly();
+            try {
+                while (true) {
+                    long now = System.currentTimeMillis();
+                    refill(now);
+                    long waitMillis;
+                    if (now < pausedUntil) {
+                        waitMillis = pausedUntil - now;
+                    } else if (availableRequests >= 1 && availableTokens >= tokens) {
+                        availableRequests -= 1;
+                        availableTokens -= tokens;
+                        admitted.incrementAndGet();
+                        totalWaitMillis.addAndGet(now - start);
+                        return tokens;
+                    } else {
+                        long requestWait = (long) Math.ceil((1 - availableRequests) / requestsPerMilli);
+                        long tokenWait = (long) Math.ceil((tokens - availableTokens) / tokensPerMilli);
+                        waitMillis = Math.max(1, Math.max(requestWait, tokenWait));
+                    }
+                    if (now + waitMillis > deadline) {
+                        rejected.incrementAndGet();
+                        throw new RejectedExecutionException("OpenAI 호출 한도로 " + maxWaitMillis + "ms 안에 호출할 수 없습니다.");
+                    }
+                    changed.await(waitMillis, TimeUnit.MILLISECONDS);
+                }
+            } finally {
+                lock.unlock();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("OpenAI 호출 대기 중 인터럽트되었습니다.", e);
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    /**
+     * 호출이 끝난 뒤 예약한 토큰과 실제 사용량의 차이를 정산합니다.
+     * @param reservedTokens acquire 가 반환한 값
+     * @param actualTokens 응답의 usage.total_tokens (호출이 토큰을 쓰지 않았으면 0)
+     */
+    public void adjust(int reservedTokens, int actualTokens) {
+        lock.lock();
+        try {
+            refill(System.currentTimeMillis());
+            // 실제 사용량이 더 많으면 음수(빚)가 될 수 있고, 그만큼 다음 호출이 기다립니다.
+            availableTokens = Math.min(tokenCapacity, availableTokens + reservedTokens - actualTokens);
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 429 응답을 받았을 때 모든 호출의 입장을 delayMillis 동안 멈춥니다.
+     */
+    public void pause(long delayMillis) {
+        throttled.incrementAndGet();
+        lock.lock();
+        try {
+            pausedUntil = Math.max(pausedUntil, System.currentTimeMillis() + delayMillis);
+        } finally {
+            lock.unlock();
+        }
+        log.warn("OpenAI 호출 한도 초과(429) - {}ms 동안 호출을 멈춥니다.", delayMillis);
+    }
+
+    /**
+     * 입장/거절/429 카운터와 현재 버킷 상태
+     */
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        lock.lock();
+        try {
+            refill(System.currentTimeMillis());
+            stats.put("availableRequests", (long) availableRequests);
+            stats.put("availableTokens", (long) availableTokens);
+            stats.put("pausedMillis", Math.max(0, pausedUntil - System.currentTimeMillis()));
+        } finally {
+            lock.unlock();
+        }
+        stats.put("waiting", (long) waiting.get());
+        stats.put("admitted", admitted.get());
+        stats.put("rejected", rejected.get());
+        stats.put("throttled", throttled.get());
+        long count = admitted.get();
+        stats.put("avgWaitMillis", count == 0 ? 0 : totalWaitMillis.get() / count);
+        return stats;
+    }
+
+    private void refill(long now) {
+        long elapsed = now - lastRefill;
+        if (elapsed > 0) {
+            availableRequests = Math.min(requestCapacity, availableRequests + elapsed * requestsPerMilli);
+            availableTokens = Math.min(tokenCapacity, availableTokens + elapsed * tokensPerMilli);
+            lastRefill = now;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package me.kwakinsung.smresume.app.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 원본 이력서 다운로드용 S3 pre-signed URL 캐시 (객체 키 -> 서명된 URL)
+// 서명은 네트워크 호출 없이 로컬에서 하지만, 분석 기록 페이지마다 행 수만큼 서명하지 않도록 만료 전까지 재사용합니다.
+// 만료까지 refresh-before-minutes 보다 적게 남으면 새로 서명하므로, 화면에 나간 링크는 최소 그만큼은 유효합니다.
+// 같은 객체에는 같은 URL 이 나가서 브라우저 캐시도 그대로 쓸 수 있습니다. (다운로드는 브라우저 -> S3 직접)
+@Component
+@ConditionalOnProperty(name = "storage.type", havingValue = "s3", matchIfMissing = true)
+public class PresignedUrlCache {
+
+    private final S3Presigner s3Presigner;
+    private final Duration signatureDuration;
+    private final long refreshBeforeMillis;
+    private final Map<String, Entry> entries;
+
+    @Value("${aws.s3.bucketName}")
+    private String s3BucketName;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong signs = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private record Entry(String url, long expiresAt) {
+    }
+
+    public PresignedUrlCache(S3Presigner s3Presigner,
+                             @Value("${storage.s3.presign.ttl-minutes:60}") long ttlMinutes,
+                             @Value("${storage.s3.presign.refresh-before-minutes:10}") long refreshBeforeMinutes,
+                             @Value("${storage.s3.presign.max-entries:10000}") int maxEntries) {
+        this.s3Presigner = s3Presigner;
+        this.signatureDuration = Duration.ofMinutes(ttlMinutes);
+        this.refreshBeforeMillis = Math.min(refreshBeforeMinutes, ttlMinutes / 2) * 60_000L;
+        // access-order LinkedHashMap = LRU
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 객체의 다운로드 URL 을 돌려줍니다. 캐시된 URL 이 곧 만료되면 새로 서명합니다.
+     * @param key S3 객체 키
+     */
+    public String get(String key) {
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt() - refreshBeforeMillis > now) {
+                hits.incrementAndGet();
+                return entry.url();
+            }
+        }
+
+        // 서명은 잠금 밖에서 (같은 키를 동시에 서명해도 둘 다 유효한 URL 이라 문제 없음)
+        String url = s3Presigner.presignGetObject(GetObjectPresignRequest.builder()
+                        .signatureDuration(signatureDuration)
+                        .getObjectRequest(GetObjectRequest.builder()
+                                .bucket(s3BucketName)
+                                .key(key)
+                                .build())
+                        .build())
+                .url()
+                .toString();
+        signs.incrementAndGet();
+        synchronized (entries) {
+            entries.put(key, new Entry(url, now + signatureDuration.toMillis()));
+        }
+        return url;
+    }
+
+    /**
+     * 캐시에서 제거합니다. (객체 삭제 시)
+     */
+    public void evict(String key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * 캐시 통계 (메트릭용)
+     */
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        synchronized (entries) {
+            stats.put("size", (long) entries.size());
+        }
+        stats.put("hits", hits.get());
+        stats.put("signs", signs.get());
+        stats.put("evictions", evictions.get());
+        return stats;
+    }
+}
@@ -0,0 +1,529 @@
+package me.kwakinsung.smresume.app.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+// OpenAI STAR 분석 파이프라인 (텍스트 추출은 ResumeTextExtractor)
+// (ResumeController 에 있던 로직을 비동기 작업에서도 쓸 수 있도록 서비스로 분리)
+@Service
+@Slf4j
+public class ResumeAnalysisService {
+
+    private static final String OPENAI_MODEL = "gpt-3.5-turbo";
+    // 청크/최종 프롬프트를 바꾸면 올려서 이전 캐시 결과를 쓰지 않도록 합니다.
+    private static final String PROMPT_VERSION = "star-v3"; // v2: 토큰 예산 기반 청크 분할, v3: 최종 프롬프트에 목표 직무 반영
+    // 청크 요약 프롬프트만의 버전 (청크 요약 재사용 키, 최종 프롬프트만 바뀌면 그대로 둠)
+    private static final String CHUNK_PROMPT_VERSION = "star-v2";
+
+    private final RestTemplate openaiRestTemplate;
+    private final ObjectMapper objectMapper;
+    private final Executor openaiChunkExecutor;
+    private final AnalysisResultCache analysisResultCache;
+    private final ResumeTextChunker resumeTextChunker;
+    private final ChunkSummaryStore chunkSummaryStore;
+    private final OpenAiRateLimiter openAiRateLimiter;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${openai.api-key}")
+    private String openaiApiKey;
+
+    @Value("${openai.api-url:https://api.openai.com/v1/chat/completions}") // 부하 테스트에서는 로컬 가짜 서버 주소
+    private String openaiApiUrl;
+
+    @Value("${openai.chunk.max-parallel:4}") // 요청 하나당 동시에 보내는 청크 요약 수
+    private int maxParallelPerRequest;
+
+    @Value("${openai.chunk.timeout-seconds:60}") // 청크 하나의 최대 시간 (시작 허가를 기다린 뒤 제출한 시점부터)
+    private long chunkTimeoutSeconds;
+
+    @Value("${openai.retry.max-attempts:5}") // 429/5xx/네트워크 오류 시 호출 하나당 최대 시도 횟수
+    private int maxAttempts;
+
+    @Value("${openai.retry.base-backoff-ms:500}")
+    private long baseBackoffMillis;
+
+    @Value("${openai.retry.max-backoff-ms:20000}")
+    private long maxBackoffMillis;
+
+    @Value("${openai.rate-limit.completion-token-reserve:800}") // 응답 토큰 예상치 (TPM 예약용)
+    private int completionTokenReserve;
+
+    @Value("${openai.stream.enabled:true}") // 최종 분석을 스트리밍으로 받아 진행 페이지에 바로 보여줌
+    private boolean streamEnabled;
+
+    /**
+     * 분석 진행 상황을 전달받는 콜백.
+     * stage 는 extracted / chunk / streaming / final 중 하나이며, chunk 단계에서는 completed/total 이 청크 진행도입니다.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        ProgressListener NONE = (stage, completed, total) -> {};
+
+        void onProgress(String stage, int completed, int total);
+
+        /**
+         * 스트리밍 모드에서 최종 분석 응답의 조각(delta)이 도착할 때마다 호출됩니다.
+         */
+        default void onToken(String delta) {
+        }
+
+        /**
+         * 청크 요약이 끝나면 이번 분석에 쓴 청크 요약(내용 해시 -> 요약)을 전달합니다. (분석 결과와 함께 저장용)
+         */
+        default void onChunkSummaries(Map<String, String> summariesByHash) {
+        }
+    }
+
+    // 스트리밍 호출 결과 (전체 content + 사용 토큰, usage 를 못 받으면 -1)
+    private record StreamedCompletion(String content, int totalTokens) {
+    }
+
+    @Autowired // 생성자 주입
+    public ResumeAnalysisService(@Qualifier("openaiRestTemplate") RestTemplate openaiRestTemplate, ObjectMapper objectMapper,
+                                 @Qualifier("openaiChunkExecutor") Executor openaiChunkExecutor,
+                                 AnalysisResultCache analysisResultCache, ResumeTextChunker resumeTextChunker,
+                                 ChunkSummaryStore chunkSummaryStore, OpenAiRateLimiter openAiRateLimiter,
+                                 MeterRegistry meterRegistry) {
+        this.openaiRestTemplate = openaiRestTemplate;
+        this.objectMapper = objectMapper;
+        this.openaiChunkExecutor = openaiChunkExecutor;
+        this.analysisResultCache = analysisResultCache;
+        this.resumeTextChunker = resumeTextChunker;
+        this.chunkSummaryStore = chunkSummaryStore;
+        this.openAiRateLimiter = openAiRateLimiter;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // STAR 분석 + 프로젝트 제안 + JSON 구조 맞춤
+    public Map<String, Map<String, String>> analyzeResumeWithSTAR(String resumeContent, String targetJob) throws IOException {
+        return analyzeResumeWithSTAR(resumeContent, targetJob, ProgressListener.NONE);
+    }
+
+    public Map<String, Map<String, String>> analyzeResumeWithSTAR(String resumeContent, String targetJob,
+                                                                  ProgressListener listener) throws IOException {
+        return analyzeResumeWithSTAR(resumeContent, targetJob, null, listener);
+    }
+
+    // 같은 내용 + 같은 목표 직무의 분석 결과가 캐시에 있으면 OpenAI 를 호출하지 않고 바로 반환합니다.
+    // userId 가 있으면 그 사용자가 이전에 분석한 것과 같은 청크는 저장된 요약을 재사용합니다. (수정본 재분석)
+    public Map<String, Map<String, String>> analyzeResumeWithSTAR(String resumeContent, String targetJob, String userId,
+                                                                  ProgressListener listener) throws IOException {
+        String cacheKey = analysisResultCache.createKey(resumeContent, targetJob, OPENAI_MODEL, PROMPT_VERSION);
+        Map<String, Map<String, String>> cached = analysisResultCache.get(cacheKey);
+        if (cached != null) {
+            log.info("분석 결과 캐시 적중: {}", cacheKey);
+            listener.onProgress("final", 1, 1);
+            return cached;
+        }
+
+        Map<String, Map<String, String>> result = runStarAnalysis(resumeContent, targetJob, userId, listener);
+        analysisResultCache.put(cacheKey, result);
+        return result;
+    }
+
+    // 청크 요약은 목표 직무와 상관없이 만들고(다른 직무로 재분석할 때 재사용), 목표 직무는 최종 프롬프트에만 넣습니다.
+    private Map<String, Map<String, String>> runStarAnalysis(String resumeContent, String targetJob, String userId,
+                                                             ProgressListener listener) throws IOException {
+        List<String> chunks = resumeTextChunker.chunk(resumeContent);
+        if (chunks.isEmpty()) {
+            throw new IOException("분석할 이력서 내용이 없습니다.");
+        }
+        List<String> hashes = new ArrayList<>(chunks.size());
+        for (String chunk : chunks) {
+            hashes.add(ChunkSummaryStore.hash(chunk, OPENAI_MODEL, CHUNK_PROMPT_VERSION));
+        }
+        Map<String, String> reusable = chunkSummaryStore.find(userId, hashes);
+        Map<String, String> summariesByHash = new LinkedHashMap<>();
+        List<String> partialSummaries = summarizeChunksInParallel(chunks, hashes, reusable, summariesByHash, listener);
+        chunkSummaryStore.remember(userId, summariesByHash);
+        listener.onChunkSummaries(summariesByHash);
+
+        if (partialSummaries.isEmpty()) {
+            throw new IOException("OpenAI API 청크 요약 실패 (모든 청크 실패)");
+        }
+
+        // 최종 STAR 분석 + 프로젝트 확장 제안
+        String finalPrompt = String.format("""
+            너는 신입 개발자 이력서 평가 전문가야.
+            지원하는 직무는 "%s" 이야.
+            아래 요약들을 기반으로 이 직무 기준의 STAR 분석 + 각 항목별 개선점 + 이 직무에 맞는 실무 확장 프로젝트 아이디어 제시.
+            직무와 관련 있는 경험은 강점으로, 직무에 필요한데 이력서에 없는 역량은 개선점으로 짚어줘.
+            JSON 형식으로 반환:
+            {
+              "Situation": {"평가": "", "개선점": ""},
+              "Task": {"평가": "", "개선점": ""},
+              "Action": {"평가": "", "개선점": ""},
+              "Result": {"평가": "", "개선점": ""},
+              "총평": "",
+              "확장 제안": {"STAR 사례 예시": "", "추가 프로젝트 제안": ""}
+            }
+            이력서 요약:
+            %s
+            """, targetJob == null || targetJob.isBlank() ? "지정하지 않음" : targetJob.strip(),
+                String.join("\n", partialSummaries));
+
+        listener.onProgress("streaming", 0, 1);
+        // 스트리밍 모드면 응답 조각을 받는 즉시 listener 로 전달하고, 다 받은 뒤 전체 JSON 을 파싱합니다.
+        String content = streamEnabled
+                ? requestChatCompletion(finalPrompt, "final", listener::onToken, () -> false)
+                : requestChatCompletion(finalPrompt, "final");
+        if (content != null) {
+            // JSON -> Map<String, Map<String, String>> 변환
+            Map<String, Map<String, String>> result;
+            try {
+                result = objectMapper.readValue(content,
+                        new com.fasterxml.jackson.core.type.TypeReference<Map<String, Map<String, String>>>(){});
+            } catch (JsonProcessingException e) {
+                meterRegistry.counter("analysis.json.parse.failures", "source", "openai-final").increment();
+                throw e;
+            }
+            listener.onProgress("final", 1, 1);
+            return result;
+        }
+
+        throw new IOException("OpenAI API 최종 분석 실패");
+    }
+
+    // 청크 요약을 공용 풀에서 동시에 요청하고, 원래 순서대로 모읍니다.
+    // 요청 하나가 동시에 띄울 수 있는 호출 수는 maxParallelPerRequest 로 제한하고,
+    // 실패/타임아웃된 청크는 건너뜁니다. (전체 분석은 계속 진행)
+    // 청크마다 제출할 때 마감 시각을 정하고(orTimeout), 마감이 지난 청크의 작업은 다음 호출/재시도 전에 멈춥니다.
+    // 허가(permit)도 마감 시각에 돌려주므로, 시간이 다 된 청크가 요청의 동시 호출 수를 계속 차지하지 않습니다.
+    // reusable 에 요약이 있는 청크(이전 분석과 내용이 같은 청크)는 OpenAI 를 호출하지 않습니다.
+    // 성공한 요약은 summariesByHash 에 (해시 -> 요약) 으로 모읍니다.
+    private List<String> summarizeChunksInParallel(List<String> chunks, List<String> hashes, Map<String, String> reusable,
+                                                   Map<String, String> summariesByHash, ProgressListener listener) {
+        Semaphore permits = new Semaphore(Math.max(1, maxParallelPerRequest));
+        List<CompletableFuture<String>> futures = new ArrayList<>(chunks.size());
+        AtomicInteger finished = new AtomicInteger();
+        int reused = 0;
+
+        for (int i = 0; i < chunks.size(); i++) {
+            String chunk = chunks.get(i);
+            String reusedSummary = reusable.get(hashes.get(i));
+            if (reusedSummary != null) {
+                reused++;
+                futures.add(CompletableFuture.completedFuture(reusedSummary));
+                listener.onProgress("chunk", finished.incrementAndGet(), chunks.size());
+                continue;
+            }
+            try {
+                if (!permits.tryAcquire(chunkTimeoutSeconds, TimeUnit.SECONDS)) {
+                    futures.add(CompletableFuture.failedFuture(new TimeoutException("시작 허가 대기 시간 초과")));
+                    listener.onProgress("chunk", finished.incrementAndGet(), chunks.size());
+                    continue;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(f -> f.cancel(true));
+                throw new CancellationException("청크 요약이 중단되었습니다.");
+            }
+            CompletableFuture<String> future = new CompletableFuture<>();
+            try {
+                openaiChunkExecutor.execute(() -> {
+                    if (future.isDone()) {
+                        return; // 대기열에 있는 동안 마감이 지남
+                    }
+                    try {
+                        future.complete(summarizeChunk(chunk, future::isDone));
+                    } catch (Throwable e) {
+                        future.completeExceptionally(e);
+                    }
+                });
+            } catch (RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+            future.orTimeout(chunkTimeoutSeconds, TimeUnit.SECONDS).whenComplete((result, error) -> {
+                permits.release();
+                listener.onProgress("chunk", finished.incrementAndGet(), chunks.size());
+            });
+            futures.add(future);
+        }
+
+        List<String> partialSummaries = new ArrayList<>(chunks.size());
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                String summary = futures.get(i).get(); // 청크마다 마감 시각이 있으므로 무한정 기다리지 않음
+                if (summary != null) {
+                    partialSummaries.add(summary);
+                    summariesByHash.put(hashes.get(i), summary);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(f -> f.cancel(true));
+                break;
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof TimeoutException) {
+                    log.warn("청크 {}/{} 요약 타임아웃 ({}초) - 건너뜁니다.", i + 1, chunks.size(), chunkTimeoutSeconds);
+                } else {
+                    log.warn("청크 {}/{} 요약 실패 - 건너뜁니다: {}", i + 1, chunks.size(), e.getCause().getMessage());
+                }
+            }
+        }
+        log.info("청크 요약 완료: {}/{}개 성공 (재사용 {}개)", partialSummaries.size(), chunks.size(), reused);
+        meterRegistry.counter("analysis.chunks", "source", "reused").increment(reused);
+        meterRegistry.counter("analysis.chunks", "source", "openai").increment(chunks.size() - reused);
+        return partialSummaries;
+    }
+
+    // 재시도는 executeChatCompletion 한 곳에서만 합니다. (실패한 청크가 호출 한도를 두 배로 쓰지 않도록)
+    // cancelled 가 true 가 되면(마감 시각 초과) 다음 호출/재시도를 하지 않습니다.
+    private String summarizeChunk(String chunk, BooleanSupplier cancelled) {
+        String chunkPrompt = String.format("""
+                너는 신입 개발자 이력서 평가 전문가야.
+                다음 이력서 내용을 STAR 기법 중심으로 요약해줘.
+                내용:
+                %s
+                """, chunk);
+        return requestChatCompletion(chunkPrompt, "chunk", null, cancelled);
+    }
+
+    // OpenAI chat completions 호출 후 첫 번째 choice 의 content 를 반환 (없으면 null)
+    // kind(chunk/final)·결과별 호출 시간(재시도와 입장 대기 포함)을 openai.request 타이머로 기록합니다.
+    private String requestChatCompletion(String prompt, String kind) {
+        return requestChatCompletion(prompt, kind, null, () -> false);
+    }
+
+    private String requestChatCompletion(String prompt, String kind, Consumer<String> tokenConsumer,
+                                         BooleanSupplier cancelled) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            String content = executeChatCompletion(prompt, tokenConsumer, cancelled);
+            outcome = content != null ? "success" : "empty";
+            return content;
+        } catch (HttpClientErrorException.TooManyRequests e) {
+            outcome = "rate_limited";
+            throw e;
+        } catch (RejectedExecutionException e) {
+            outcome = "rejected";
+            throw e;
+        } catch (CancellationException e) {
+            outcome = "cancelled";
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer("openai.request", "model", OPENAI_MODEL, "kind", kind, "outcome", outcome));
+        }
+    }
+
+    // tokenConsumer 가 있으면 stream=true 로 호출하고 응답 조각을 받는 대로 넘겨줍니다. (반환값은 전체 content)
+    // 호출 전에 OpenAiRateLimiter 로 입장 허가를 받고, 429/5xx/네트워크 오류는 지수 백오프(+지터)로 재시도합니다.
+    // 429 는 Retry-After 를 따르며 그동안 서버 전체의 호출을 멈춥니다.
+    // 스트리밍 중 일부 조각을 이미 보낸 뒤의 오류는 재시도하지 않습니다. (같은 내용이 두 번 전달되지 않도록)
+    // cancelled 는 시도마다 입장 허가 전후로 확인하며, 취소되면 CancellationException 을 던집니다.
+    private String executeChatCompletion(String prompt, Consumer<String> tokenConsumer, BooleanSupplier cancelled) {
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("model", OPENAI_MODEL);
+        requestBody.put("messages", List.of(Map.of("role", "user", "content", prompt)));
+        requestBody.put("temperature", 0.7);
+        if (tokenConsumer != null) {
+            requestBody.put("stream", true);
+            requestBody.put("stream_options", Map.of("include_usage", true)); // 마지막 이벤트로 usage 받기
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Authorization", "Bearer " + openaiApiKey);
+        headers.set("Content-Type", "application/json");
+        HttpEntity<Map<String, Object>> requestEntity = new HttpEntity<>(requestBody, headers);
+
+        int estimatedTokens = ResumeTextChunker.estimateTokens(prompt) + completionTokenReserve;
+        AtomicBoolean emitted = new AtomicBoolean();
+        for (int attempt = 1; ; attempt++) {
+            checkCancelled(cancelled);
+            int reservedTokens = openAiRateLimiter.acquire(estimatedTokens);
+            int usedTokens = reservedTokens;
+            try {
+                if (cancelled.getAsBoolean()) {
+                    usedTokens = 0; // 입장을 기다리는 동안 마감이 지남 (호출하지 않고 예약 반환)
+                    checkCancelled(cancelled);
+                }
+                if (tokenConsumer != null) {
+                    StreamedCompletion completion = streamChatCompletion(requestEntity, tokenConsumer, emitted);
+                    if (completion.totalTokens() >= 0) {
+                        usedTokens = completion.totalTokens();
+                    }
+                    return completion.content().isEmpty() ? null : completion.content();
+                }
+
+                ResponseEntity<Map> response = openaiRestTemplate.postForEntity(openaiApiUrl, requestEntity, Map.class);
+                if (response.getBody() != null && response.getBody().get("usage") instanceof Map<?, ?> usage
+                        && usage.get("total_tokens") instanceof Number totalTokens) {
+                    usedTokens = totalTokens.intValue();
+                }
+
+                if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+                    List<Map<String, Object>> choices = (List<Map<String, Object>>) response.getBody().get("choices");
+                    if (choices != null && !choices.isEmpty()) {
+                        Map<String, Object> message = (Map<String, Object>) choices.get(0).get("message");
+                        return (String) message.get("content");
+                    }
+                }
+                return null;
+            } catch (HttpClientErrorException.TooManyRequests e) {
+                usedTokens = 0; // 거절된 요청은 토큰을 쓰지 않음
+                if (attempt >= maxAttempts || emitted.get()) {
+                    throw e;
+                }
+                int failedAttempt = attempt;
+                long delay = retryAfterMillis(e.getResponseHeaders()).orElseGet(() -> backoffMillis(failedAttempt));
+                openAiRateLimiter.pause(delay + ThreadLocalRandom.current().nextLong(250)); // 동시에 재개되지 않도록 지터
+            } catch (HttpServerErrorException | ResourceAccessException e) {
+                if (attempt >= maxAttempts || emitted.get()) {
+                    throw e;
+                }
+                long delay = backoffMillis(attempt);
+                log.debug("OpenAI 호출 실패 (시도 {}/{}), {}ms 후 재시도: {}", attempt, maxAttempts, delay, e.getMessage());
+                sleep(delay);
+            } finally {
+                openAiRateLimiter.adjust(reservedTokens, usedTokens);
+            }
+        }
+    }
+
+    // 스트리밍 응답(text/event-stream, "data: {...}" 줄)을 읽으며 choices[0].delta.content 를 전달합니다.
+    private StreamedCompletion streamChatCompletion(HttpEntity<Map<String, Object>> requestEntity,
+                                                    Consumer<String> tokenConsumer, AtomicBoolean emitted) {
+        return openaiRestTemplate.execute(openaiApiUrl, HttpMethod.POST,
+                openaiRestTemplate.httpEntityCallback(requestEntity), response -> {
+                    StringBuilder content = new StringBuilder();
+                    int totalTokens = -1;
+                    try (BufferedReader reader = new BufferedReader(
+                            new InputStreamReader(response.getBody(), StandardCharsets.UTF_8))) {
+                        String line;
+                        while ((line = reader.readLine()) != null) {
+                            if (!line.startsWith("data:")) {
+                                continue;
+                            }
+                            String data = line.substring(5).trim();
+                            if ("[DONE]".equals(data)) {
+                                break;
+                            }
+                            JsonNode event = objectMapper.readTree(data);
+                            JsonNode delta = event.path("choices").path(0).path("delta").path("content");
+                            if (delta.isTextual() && !delta.asText().isEmpty()) {
+                                content.append(delta.asText());
+                                emitted.set(true);
+                                tokenConsumer.accept(delta.asText());
+                            }
+                            JsonNode usage = event.path("usage").path("total_tokens");
+                            if (usage.isNumber()) {
+                                totalTokens = usage.asInt();
+                            }
+                        }
+                    }
+                    return new StreamedCompletion(content.toString(), totalTokens);
+                });
+    }
+
+    // 지수 백오프 + equal jitter: [d/2, d) (d = base * 2^(attempt-1), 최대 max-backoff)
+    private long backoffMillis(int attempt) {
+        long delay = Math.min(maxBackoffMillis, baseBackoffMillis << Math.min(20, attempt - 1));
+        return delay / 2 + ThreadLocalRandom.current().nextLong(Math.max(1, delay / 2));
+    }
+
+    // retry-after-ms / Retry-After (초 또는 HTTP 날짜) 헤더
+    // 둘 다 없거나 해석할 수 없으면 empty 를 돌려주고, 호출한 쪽은 백오프 일정을 따릅니다.
+    private Optional<Long> retryAfterMillis(HttpHeaders responseHeaders) {
+        if (responseHeaders == null) {
+            return Optional.empty();
+        }
+        Optional<Long> delay = parseDelay(responseHeaders.getFirst("retry-after-ms"), 1);
+        String retryAfter = responseHeaders.getFirst(HttpHeaders.RETRY_AFTER);
+        if (delay.isPresent() || retryAfter == null) {
+            return delay;
+        }
+        delay = parseDelay(retryAfter, 1000);
+        if (delay.isPresent()) {
+            return delay;
+        }
+        try {
+            long until = ZonedDateTime.parse(retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+            return Optional.of(Math.max(0, until - System.currentTimeMillis()));
+        } catch (DateTimeParseException e) {
+            log.debug("Retry-After 헤더를 해석할 수 없어 백오프를 따릅니다: {}", retryAfter);
+            return Optional.empty();
+        }
+    }
+
+    // 숫자로 된 대기 시간 (음수/NaN/무한대는 해석 실패로 봄)
+    private static Optional<Long> parseDelay(String value, long unitMillis) {
+        if (value == null) {
+            return Optional.empty();
+        }
+        try {
+            double delay = Double.parseDouble(value.trim()) * unitMillis;
+            if (Double.isFinite(delay) && delay >= 0 && delay < Long.MAX_VALUE) {
+                return Optional.of((long) delay);
+            }
+        } catch (NumberFormatException ignored) {
+            // HTTP 날짜 형식일 수 있음
+        }
+        return Optional.empty();
+    }
+
+    private static void checkCancelled(BooleanSupplier cancelled) {
+        if (cancelled.getAsBoolean()) {
+            throw new CancellationException("마감 시각이 지나 OpenAI 호출을 중단했습니다.");
+        }
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("OpenAI 재시도 대기 중 인터럽트되었습니다.", e);
+        }
+    }
+
+    //긴 이력서 → 잘라서 요약
+    //
+    //요약 결과 → 다시 합쳐서 최종 분석
+    //
+    //gpt-3.5-turbo에서도 안정적으로 동작
+    //2025.09.03
+}
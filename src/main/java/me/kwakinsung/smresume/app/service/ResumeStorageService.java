@@ -5,38 +5,85 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import me.kwakinsung.smresume.app.dto.AnalysisHistoryPage;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.dynamodb.model.*;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.Delete;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest; // S3 삭제를 위해 추가
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 
 import java.io.IOException;
-import java.time.Instant;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.Comparator; // 이 import는 현재 코드에서 사용되지 않으므로 제거해도 됩니다.
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
 import java.util.stream.Collectors; // 이 import는 현재 코드에서 사용되지 않으므로 제거해도 됩니다.
 
+// storage.type=s3 (기본값): 이력서 원본/분석 결과는 S3, 메타데이터는 DynamoDB
 @Service
+@ConditionalOnProperty(name = "storage.type", havingValue = "s3", matchIfMissing = true)
 @RequiredArgsConstructor
 @Slf4j
-public class ResumeStorageService {
+public class ResumeStorageService implements AnalysisStorage {
 
     private final S3Client s3Client;
     private final DynamoDbClient dynamoDbClient;
     private final ObjectMapper objectMapper;
+    private final S3MultipartUploader s3MultipartUploader;
+    private final S3AsyncClient s3AsyncClient;
+    private final DynamoDbAsyncClient dynamoDbAsyncClient;
+    private final AnalysisMetadataCache analysisMetadataCache;
+    private final AnalysisResultJsonCache analysisResultJsonCache;
+    private final StorageMetrics storageMetrics;
+    private final PresignedUrlCache presignedUrlCache;
+
+    private static final DateTimeFormatter ANALYSIS_DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    // 목록 화면에 필요한 속성만 읽기 (예전 형식 + 압축 형식 속성)
+    private static final String HISTORY_PROJECTION =
+            "userId, analysisId, analysisTimestamp, originalFileName, targetJob, s3ResumePath, fv, fn, tj, hr, rk";
+
+    // 압축 형식(format-version 2)의 DynamoDB 속성. S3 경로는 userId/analysisId 로 만들 수 있어서 저장하지 않습니다.
+    private static final String ATTR_FORMAT_VERSION = "fv";   // 형식 버전 (N)
+    private static final String ATTR_FILE_NAME = "fn";        // 원본 파일명 (텍스트 직접 입력이면 없음)
+    private static final String ATTR_TARGET_JOB = "tj";       // 목표 직무
+    private static final String ATTR_HAS_RESUME = "hr";       // 원본 이력서가 resumes/{userId}/{analysisId}/{fn} 에 있음 (BOOL)
+    private static final String ATTR_RESUME_KEY = "rk";       // 원본 경로를 만들 수 없는 경우에만 저장
+    private static final String TEXT_INPUT_FILE_NAME = "텍스트 직접 입력";
+
+    // 정렬 키(analysisTimestamp) = epoch 밀리초 * 1000 + 0~999 (analysisId 로 정함)
+    // 같은 사용자의 분석이 같은 시각에 저장되어도(일괄 분석) 키가 겹치지 않게 합니다.
+    // 예전 항목은 epoch 초이므로 값의 크기로 구분합니다. (초 단위 값은 이 기준보다 훨씬 작음)
+    private static final long SORT_KEY_TIE_BREAK = 1000;
+    private static final long SORT_KEY_MILLIS_THRESHOLD = 100_000_000_000_000L;
+    private static final int PUT_ITEM_MAX_ATTEMPTS = 3; // 정렬 키가 겹치면 새 키로 다시 시도
 
     @Value("${aws.s3.bucketName}")
     private String s3BucketName;
@@ -44,97 +91,344 @@ public class ResumeStorageService {
     @Value("${aws.dynamodb.tableName}")
     private String dynamoDbTableName;
 
+    @Value("${aws.dynamodb.analysisIdIndex:analysisId-index}") // 파티션 키가 analysisId 인 GSI
+    private String analysisIdIndexName;
+
+    // 1 = 예전 형식(압축 없는 JSON + 전체 속성), 2 = gzip JSON + 짧은 속성. 읽기는 두 형식 모두 지원
+    @Value("${storage.s3.format-version:2}")
+    private int formatVersion;
+
     /**
      * 사용자의 이력서 파일과 분석 결과를 S3에 저장하고, 관련 메타데이터를 DynamoDB에 저장합니다.
      * @param userId 사용자 ID
      * @param resumeFile 업로드된 이력서 파일 (null일 수 있음)
      * @param analysisResultMap 분석 결과 Map
      * @param targetJob 목표 직무
-     * @return 저장 성공 여부
+     * @return 저장된 분석 ID (실패 시 null)
      */
-    public boolean saveAnalysisResult(String userId, MultipartFile resumeFile,
-                                      Map<String, Map<String, String>> analysisResultMap, String targetJob) {
+    public String saveAnalysisResult(String userId, MultipartFile resumeFile,
+                                     Map<String, Map<String, String>> analysisResultMap, String targetJob) {
         if (userId == null || userId.isEmpty()) {
             log.warn("사용자 ID가 없어 이력서 분석 결과를 저장할 수 없습니다.");
-            return false;
+            return null;
         }
 
-        String analysisId = UUID.randomUUID().toString(); // 고유한 분석 ID 생성
-        // 현재 시간을 UTC Epoch 초로 저장 (DynamoDB 정렬 키용)
-        String timestamp = String.valueOf(Instant.now().getEpochSecond());
-
-        String resumeFileKey = null; // S3에 저장될 원본 이력서 파일의 경로 (resumes/...)
-        String analysisResultS3Key = null; // S3에 저장될 분석 결과 JSON 파일의 경로 (analysis-results/...)
+        ResumeUpload resumeUpload = null;
+        String originalFileName = null;
 
         if (resumeFile != null && !resumeFile.isEmpty()) {
-            // 이력서 파일 키 (경로) 생성: resumes/{userId}/{analysisId}/{originalFileName}
-            resumeFileKey = "resumes/" + userId + "/" + analysisId + "/" + resumeFile.getOriginalFilename();
+            String analysisId = UUID.randomUUID().toString(); // 고유한 분석 ID 생성
+            originalFileName = resumeFile.getOriginalFilename();
+            String resumeFileKey = resumeFileKey(userId, analysisId, originalFileName);
             try {
                 PutObjectRequest putObjectRequest = PutObjectRequest.builder()
                         .bucket(s3BucketName)
                         .key(resumeFileKey)
                         .build();
-                s3Client.putObject(putObjectRequest, RequestBody.fromInputStream(resumeFile.getInputStream(), resumeFile.getSize()));
+                RequestBody requestBody = RequestBody.fromInputStream(resumeFile.getInputStream(), resumeFile.getSize());
+                storageMetrics.record("s3", "putObject", () -> s3Client.putObject(putObjectRequest, requestBody));
                 log.info("S3에 이력서 파일 저장 완료: {}", resumeFileKey);
             } catch (IOException e) {
                 log.error("S3에 이력서 파일 저장 실패: {}", e.getMessage(), e);
-                return false;
+                return null;
             }
-        } else {
-            // 원본 파일이 없을 경우 (텍스트 직접 입력 등) "N/A" 등으로 표시 (DynamoDB에 저장될 값)
-            resumeFileKey = "N/A";
-            log.info("원본 이력서 파일이 없어 S3에 저장되지 않았습니다. 사용자: {}", userId);
+            resumeUpload = new ResumeUpload(analysisId, resumeFileKey, CompletableFuture.completedFuture(null));
+        }
+
+        return saveAnalysisResultAsync(userId, resumeUpload, originalFileName, analysisResultMap, targetJob).join();
+    }
+
+    /**
+     * 디스크에 있는 이력서 파일의 S3 업로드를 바로 시작합니다. (분석과 병렬로 진행)
+     * 파일은 한 번만 읽으며, 큰 파일은 멀티파트로 나눠 파트들을 동시에 전송합니다.
+     * 반환된 업로드가 끝나기 전에는 파일을 지우면 안 됩니다.
+     * @param userId 사용자 ID
+     * @param resumeFile 이력서 파일 경로
+     * @param originalFileName 원본 파일명
+     * @return 진행 중인 업로드
+     */
+    @Override
+    public ResumeUpload startResumeUpload(String userId, Path resumeFile, String originalFileName) {
+        String analysisId = UUID.randomUUID().toString();
+        // 이력서 파일 키 (경로) 생성: resumes/{userId}/{analysisId}/{originalFileName}
+        String resumeFileKey = resumeFileKey(userId, analysisId, originalFileName);
+        CompletableFuture<Void> completion = storageMetrics.recordAsync("s3", "uploadResume",
+                () -> s3MultipartUploader.upload(s3BucketName, resumeFileKey, resumeFile));
+        return new ResumeUpload(analysisId, resumeFileKey, completion);
+    }
+
+    /**
+     * 분석 결과를 비동기로 저장합니다. 호출 즉시 반환하므로 결과 페이지를 먼저 보여줄 수 있습니다.
+     * 원본 업로드와 분석 결과 JSON 업로드는 동시에 진행하고, 둘 다 성공한 뒤에 DynamoDB 메타데이터를 기록합니다.
+     * 일시적인 오류는 SDK 가 재시도(aws.max-retries)하며, 그래도 실패하면 이미 올라간 S3 객체를 지워서
+     * 메타데이터 없이 남는 객체가 없도록 합니다.
+     * @param userId 사용자 ID
+     * @param resumeUpload startResumeUpload 로 시작한 업로드 (텍스트 직접 입력이면 null)
+     * @param originalFileName 원본 파일명
+     * @param analysisResultMap 분석 결과 Map
+     * @param targetJob 목표 직무
+     * @return 저장된 분석 ID 로 완료되는 future (실패 시 null 로 완료)
+     */
+    @Override
+    public CompletableFuture<String> saveAnalysisResultAsync(String userId, ResumeUpload resumeUpload, String originalFileName,
+                                                             Map<String, Map<String, String>> analysisResultMap, String targetJob) {
+        if (userId == null || userId.isEmpty()) {
+            log.warn("사용자 ID가 없어 이력서 분석 결과를 저장할 수 없습니다.");
+            return CompletableFuture.completedFuture(null);
         }
 
-        String analysisResultJson;
+        String analysisId = resumeUpload != null ? resumeUpload.getAnalysisId() : UUID.randomUUID().toString();
+        // 원본 파일이 없을 경우 (텍스트 직접 입력 등) "N/A" 로 표시 (DynamoDB에 저장될 값)
+        String resumeFileKey = resumeUpload != null ? resumeUpload.getResumeFileKey() : "N/A";
+        String analysisResultS3Key = analysisResultKey(userId, analysisId);
+
+        byte[] analysisResultJson;
         try {
-            analysisResultJson = objectMapper.writeValueAsString(analysisResultMap);
-            analysisResultS3Key = "analysis-results/" + userId + "/" + analysisId + "/result.json";
-            PutObjectRequest putResultRequest = PutObjectRequest.builder()
-                    .bucket(s3BucketName)
-                    .key(analysisResultS3Key)
-                    .contentType("application/json")
-                    .build();
-            s3Client.putObject(putResultRequest, RequestBody.fromString(analysisResultJson));
-            log.info("S3에 분석 결과 JSON 저장 완료: {}", analysisResultS3Key);
+            analysisResultJson = StorageFormat.encode(objectMapper.writeValueAsBytes(analysisResultMap), formatVersion);
         } catch (JsonProcessingException e) {
-            log.error("분석 결과 JSON 변환 실패 또는 S3 저장 실패: {}", e.getMessage(), e);
-            return false;
+            log.error("분석 결과 JSON 변환 실패: {}", e.getMessage(), e);
+            return CompletableFuture.completedFuture(null);
         }
 
-        // DynamoDB에 저장할 메타데이터 구성
+        // 1. 원본 업로드 + 분석 결과 JSON 업로드 (병렬)
+        CompletableFuture<Void> resumeWrite = resumeUpload != null
+                ? resumeUpload.getCompletion()
+                : CompletableFuture.completedFuture(null);
+        CompletableFuture<Void> resultWrite = storageMetrics.recordAsync("s3", "putObject",
+                        () -> s3AsyncClient.putObject(jsonPutRequest(analysisResultS3Key),
+                                AsyncRequestBody.fromBytes(analysisResultJson)))
+                .thenAccept(response -> log.info("S3에 분석 결과 JSON 저장 완료: {}", analysisResultS3Key));
+
+        // 2. 둘 다 성공하면 DynamoDB 메타데이터 저장 (기존 항목은 덮어쓰지 않음)
+        Function<String, Map<String, AttributeValue>> itemBuilder = timestamp -> formatVersion >= StorageFormat.COMPACT
+                ? buildCompactMetadataItem(userId, analysisId, timestamp, resumeFileKey, originalFileName, targetJob)
+                : buildMetadataItem(userId, analysisId, timestamp, resumeFileKey, analysisResultS3Key, originalFileName, targetJob);
+        return CompletableFuture.allOf(resumeWrite, resultWrite)
+                .thenCompose(v -> putMetadataItem(analysisId, itemBuilder, 0))
+                .handle((item, error) -> {
+                    if (error == null) {
+                        log.info("DynamoDB에 분석 결과 메타데이터 저장 완료: userId={}, analysisId={}", userId, analysisId);
+                        analysisMetadataCache.put(userId, analysisId, toHistoryItem(item)); // 상세 보기 시 DynamoDB 조회 생략
+                        return analysisId;
+                    }
+                    log.error("분석 결과 저장 실패 (userId={}, analysisId={}): {}", userId, analysisId, error.getMessage(), error);
+                    // 보상 처리: 성공한 S3 쓰기만 되돌립니다. (allOf 는 두 쓰기가 모두 끝난 뒤에 완료됨)
+                    if (resumeUpload != null && !resumeWrite.isCompletedExceptionally()) {
+                        deleteObjectQuietly(resumeFileKey);
+                    }
+                    if (!resultWrite.isCompletedExceptionally()) {
+                        deleteObjectQuietly(analysisResultS3Key);
+                    }
+                    return null;
+                });
+    }
+
+    // 정렬 키가 이미 있으면(같은 사용자의 다른 분석과 충돌) 덮어쓰지 않고 새 키로 다시 시도합니다.
+    private CompletableFuture<Map<String, AttributeValue>> putMetadataItem(String analysisId,
+                                                                           Function<String, Map<String, AttributeValue>> itemBuilder,
+                                                                           int attempt) {
+        Map<String, AttributeValue> item = itemBuilder.apply(newSortKey(analysisId, attempt));
+        return storageMetrics.recordAsync("dynamodb", "putItem", () -> dynamoDbAsyncClient.putItem(PutItemRequest.builder()
+                        .tableName(dynamoDbTableName)
+                        .item(item)
+                        .conditionExpression("attribute_not_exists(analysisTimestamp)")
+                        .build()))
+                .thenApply(response -> CompletableFuture.completedFuture(item))
+                .exceptionally(error -> {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    if (cause instanceof ConditionalCheckFailedException && attempt + 1 < PUT_ITEM_MAX_ATTEMPTS) {
+                        log.warn("분석 기록 정렬 키 충돌, 새 키로 다시 저장합니다: analysisId={}", analysisId);
+                        return putMetadataItem(analysisId, itemBuilder, attempt + 1);
+                    }
+                    return CompletableFuture.failedFuture(cause);
+                })
+                .thenCompose(Function.identity());
+    }
+
+    // 첫 시도는 analysisId 로 정한 0~999, 충돌 후에는 임의 값 (밀리초도 그 사이에 바뀌었을 수 있음)
+    static String newSortKey(String analysisId, int attempt) {
+        long tieBreak = attempt == 0
+                ? Math.floorMod(analysisId.hashCode(), SORT_KEY_TIE_BREAK)
+                : ThreadLocalRandom.current().nextLong(SORT_KEY_TIE_BREAK);
+        return String.valueOf(System.currentTimeMillis() * SORT_KEY_TIE_BREAK + tieBreak);
+    }
+
+    // 정렬 키 -> epoch 초 (예전 항목은 이미 초 단위)
+    static long toEpochSecond(long sortKey) {
+        return sortKey >= SORT_KEY_MILLIS_THRESHOLD ? sortKey / SORT_KEY_TIE_BREAK / 1000 : sortKey;
+    }
+
+    /**
+     * 분석이 실패/중단되어 필요 없어진 원본 업로드를 정리합니다. (업로드 완료를 기다린 뒤 객체 삭제)
+     */
+    @Override
+    public void discardResumeUpload(ResumeUpload resumeUpload) {
+        if (resumeUpload == null) {
+            return;
+        }
+        try {
+            resumeUpload.getCompletion().join();
+        } catch (CompletionException | CancellationException e) {
+            return; // 업로드 자체가 실패했다면 지울 객체도 없음 (멀티파트는 abort 됨)
+        }
+        deleteObjectQuietly(resumeUpload.getResumeFileKey());
+    }
+
+    @Override
+    public CompletableFuture<Void> saveChunkSummaries(String userId, String analysisId, Map<String, String> chunkSummaries) {
+        String key = chunkSummariesKey(userId, analysisId);
+        byte[] json;
+        try {
+            json = StorageFormat.encode(objectMapper.writeValueAsBytes(chunkSummaries), formatVersion);
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return storageMetrics.recordAsync("s3", "putObject",
+                        () -> s3AsyncClient.putObject(jsonPutRequest(key), AsyncRequestBody.fromBytes(json)))
+                .thenAccept(response -> log.debug("S3에 청크 요약 저장 완료: {}", key));
+    }
+
+    @Override
+    public Map<String, String> getChunkSummaries(String userId, String analysisId) {
+        String key = chunkSummariesKey(userId, analysisId);
+        try {
+            byte[] stored = storageMetrics.record("s3", "getObject", () -> s3Client.getObjectAsBytes(GetObjectRequest.builder()
+                    .bucket(s3BucketName)
+                    .key(key)
+                    .build())).asByteArrayUnsafe();
+            try {
+                return objectMapper.readValue(StorageFormat.decode(stored), new com.fasterxml.jackson.core.type.TypeReference<Map<String, String>>() {});
+            } catch (IOException e) {
+                storageMetrics.parseFailure("s3-chunks");
+                throw e;
+            }
+        } catch (NoSuchKeyException e) {
+            return new HashMap<>(); // 청크 요약 저장 전의 분석이거나 전체 결과 캐시로 분석한 경우
+        } catch (Exception e) {
+            log.warn("S3 청크 요약 조회 실패 (경로: {}): {}", key, e.getMessage());
+            return new HashMap<>();
+        }
+    }
+
+    // 압축 형식이면 Content-Encoding: gzip 으로 저장 (브라우저/CLI 로 받아도 JSON 으로 보임)
+    private PutObjectRequest jsonPutRequest(String key) {
+        PutObjectRequest.Builder builder = PutObjectRequest.builder()
+                .bucket(s3BucketName)
+                .key(key)
+                .contentType("application/json");
+        if (StorageFormat.isCompressed(formatVersion)) {
+            builder.contentEncoding(StorageFormat.CONTENT_ENCODING_GZIP);
+        }
+        return builder.build();
+    }
+
+    @Override
+    public CompletableFuture<Void> saveExtractedText(String userId, String analysisId, String text) {
+        String key = extractedTextKey(userId, analysisId);
+        // 추출 텍스트는 새로 생긴 객체라 예전 서버와의 호환이 필요 없으므로 형식 버전과 관계없이 압축합니다.
+        byte[] compressed = StorageFormat.encode(text.getBytes(StandardCharsets.UTF_8), StorageFormat.COMPACT);
+        return storageMetrics.recordAsync("s3", "putObject", () -> s3AsyncClient.putObject(PutObjectRequest.builder()
+                                .bucket(s3BucketName)
+                                .key(key)
+                                .contentType("text/plain; charset=utf-8")
+                                .contentEncoding(StorageFormat.CONTENT_ENCODING_GZIP)
+                                .build(), AsyncRequestBody.fromBytes(compressed)))
+                .thenAccept(response -> log.debug("S3에 추출 텍스트 저장 완료: {} ({} bytes)", key, compressed.length));
+    }
+
+    @Override
+    public String getExtractedText(String userId, String analysisId) {
+        String key = extractedTextKey(userId, analysisId);
+        try {
+            byte[] stored = storageMetrics.record("s3", "getObject", () -> s3Client.getObjectAsBytes(GetObjectRequest.builder()
+                    .bucket(s3BucketName)
+                    .key(key)
+                    .build())).asByteArrayUnsafe();
+            return new String(StorageFormat.decode(stored), StandardCharsets.UTF_8);
+        } catch (NoSuchKeyException e) {
+            return null; // 추출 텍스트 저장 전의 분석
+        } catch (Exception e) {
+            log.warn("S3 추출 텍스트 조회 실패 (경로: {}): {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private String extractedTextKey(String userId, String analysisId) {
+        return "resumes/" + userId + "/" + analysisId + "/extracted.txt.gz";
+    }
+
+    private String chunkSummariesKey(String userId, String analysisId) {
+        return "analysis-results/" + userId + "/" + analysisId + "/chunks.json";
+    }
+
+    private static String analysisResultKey(String userId, String analysisId) {
+        return "analysis-results/" + userId + "/" + analysisId + "/result.json";
+    }
+
+    private static String resumeFileKey(String userId, String analysisId, String originalFileName) {
+        return "resumes/" + userId + "/" + analysisId + "/" + originalFileName;
+    }
+
+    // DynamoDB에 저장할 메타데이터 구성
+    private Map<String, AttributeValue> buildMetadataItem(String userId, String analysisId, String timestamp, String resumeFileKey,
+                                                          String analysisResultS3Key, String originalFileName, String targetJob) {
         Map<String, AttributeValue> item = new HashMap<>();
         item.put("userId", AttributeValue.builder().s(userId).build());
         item.put("analysisId", AttributeValue.builder().s(analysisId).build());
         item.put("analysisTimestamp", AttributeValue.builder().n(timestamp).build());
-        item.put("originalFileName", AttributeValue.builder().s(resumeFile != null ? resumeFile.getOriginalFilename() : "텍스트 직접 입력").build());
+        item.put("originalFileName", AttributeValue.builder().s(originalFileName != null ? originalFileName : TEXT_INPUT_FILE_NAME).build());
         item.put("s3ResumePath", AttributeValue.builder().s(resumeFileKey).build()); // 원본 이력서 S3 경로
         item.put("s3AnalysisResultPath", AttributeValue.builder().s(analysisResultS3Key).build()); // 분석 결과 S3 경로
         item.put("targetJob", AttributeValue.builder().s(targetJob).build());
+        return item;
+    }
 
-
-        PutItemRequest putItemRequest = PutItemRequest.builder()
-                .tableName(dynamoDbTableName)
-                .item(item)
-                .build();
-
-        try {
-            dynamoDbClient.putItem(putItemRequest);
-            log.info("DynamoDB에 분석 결과 메타데이터 저장 완료: userId={}, analysisId={}", userId, analysisId);
-            return true;
-        } catch (Exception e) {
-            log.error("DynamoDB에 분석 결과 메타데이터 저장 실패: {}", e.getMessage(), e);
-            return false;
+    // 압축 형식(format-version 2)의 메타데이터: 키 속성 + 짧은 속성만 저장하고 S3 경로는 읽을 때 만듭니다.
+    private Map<String, AttributeValue> buildCompactMetadataItem(String userId, String analysisId, String timestamp,
+                                                                 String resumeFileKey, String originalFileName, String targetJob) {
+        Map<String, AttributeValue> item = new HashMap<>();
+        item.put("userId", AttributeValue.builder().s(userId).build());
+        item.put("analysisId", AttributeValue.builder().s(analysisId).build()); // analysisId 인덱스 키라서 그대로 유지
+        item.put("analysisTimestamp", AttributeValue.builder().n(timestamp).build()); // newSortKey
+        item.put(ATTR_FORMAT_VERSION, AttributeValue.builder().n(String.valueOf(StorageFormat.COMPACT)).build());
+        if (originalFileName != null) {
+            item.put(ATTR_FILE_NAME, AttributeValue.builder().s(originalFileName).build());
+        }
+        if (targetJob != null) {
+            item.put(ATTR_TARGET_JOB, AttributeValue.builder().s(targetJob).build());
+        }
+        if (!"N/A".equals(resumeFileKey)) {
+            if (originalFileName != null && resumeFileKey.equals(resumeFileKey(userId, analysisId, originalFileName))) {
+                item.put(ATTR_HAS_RESUME, AttributeValue.builder().bool(true).build());
+            } else {
+                item.put(ATTR_RESUME_KEY, AttributeValue.builder().s(resumeFileKey).build());
+            }
         }
+        return item;
+    }
+
+    private void deleteObjectQuietly(String key) {
+        storageMetrics.recordAsync("s3", "deleteObject", () -> s3AsyncClient.deleteObject(DeleteObjectRequest.builder()
+                        .bucket(s3BucketName)
+                        .key(key)
+                        .build()))
+                .whenComplete((response, error) -> {
+                    if (error == null) {
+                        log.info("S3 객체 정리(삭제) 완료: {}", key);
+                    } else {
+                        log.error("S3 객체 정리(삭제) 실패 (경로: {}): {}", key, error.getMessage());
+                    }
+                });
     }
 
 
     /**
      * 특정 사용자의 모든 분석 결과를 조회합니다.
-     * DynamoDB Query를 사용하며, 최신순으로 정렬됩니다.
+     * DynamoDB Query를 사용하며, 최신순으로 정렬됩니다. (1MB 단위 응답을 LastEvaluatedKey 로 끝까지 이어서 읽음)
      * @param userId 사용자 ID
      * @return 분석 결과 리스트 (Map 형태로, 필요한 정보만 추출)
      */
+    @Override
     public List<Map<String, String>> getUserAnalysisResults(String userId) {
         if (userId == null || userId.isEmpty()) {
             return new ArrayList<>();
@@ -152,27 +446,14 @@ public class ResumeStorageService {
 
         List<Map<String, String>> results = new ArrayList<>();
         try {
-            QueryResponse response = dynamoDbClient.query(queryRequest);
-            for (Map<String, AttributeValue> item : response.items()) {
-                Map<String, String> simplifiedItem = new HashMap<>();
-                simplifiedItem.put("userId", item.get("userId") != null ? item.get("userId").s() : "");
-                simplifiedItem.put("analysisId", item.get("analysisId") != null ? item.get("analysisId").s() : "");
-                simplifiedItem.put("originalFileName", item.get("originalFileName") != null ? item.get("originalFileName").s() : "");
-                simplifiedItem.put("targetJob", item.get("targetJob") != null ? item.get("targetJob").s() : "");
-                simplifiedItem.put("s3AnalysisResultPath", item.get("s3AnalysisResultPath") != null ? item.get("s3AnalysisResultPath").s() : "");
-                simplifiedItem.put("s3ResumePath", item.get("s3ResumePath") != null ? item.get("s3ResumePath").s() : ""); // DynamoDB에서 조회한 원본 이력서 S3 경로 추가
-
-                // 타임스탬프를 읽기 쉬운 형식으로 변환
-                if (item.get("analysisTimestamp") != null && item.get("analysisTimestamp").n() != null) {
-                    long epochSecond = Long.parseLong(item.get("analysisTimestamp").n());
-                    LocalDateTime dateTime = LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
-                    DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-                    simplifiedItem.put("analysisDate", dateTime.format(formatter));
-                } else {
-                    simplifiedItem.put("analysisDate", "날짜 정보 없음");
+            storageMetrics.record("dynamodb", "queryAll", () -> {
+                for (QueryResponse response : dynamoDbClient.queryPaginator(queryRequest)) {
+                    for (Map<String, AttributeValue> item : response.items()) {
+                        results.add(toHistoryItem(item));
+                    }
                 }
-                results.add(simplifiedItem);
-            }
+                return results;
+            });
             log.info("사용자 {}의 분석 결과 {}개 조회 완료", userId, results.size());
             return results;
         } catch (Exception e) {
@@ -181,141 +462,301 @@ public class ResumeStorageService {
         }
     }
 
+    /**
+     * 분석 기록 목록의 한 페이지를 조회합니다. (최신순)
+     * 목록 화면에 필요한 속성만 ProjectionExpression 으로 읽고, 페이지 크기만큼만 가져옵니다.
+     * @param userId 사용자 ID
+     * @param pageSize 페이지 크기
+     * @param cursor 이전 응답의 nextCursor/prevCursor (첫 페이지면 null)
+     * @return 분석 기록 페이지
+     */
+    @Override
+    public AnalysisHistoryPage getUserAnalysisResultsPage(String userId, int pageSize, String cursor) {
+        AnalysisHistoryPage emptyPage = new AnalysisHistoryPage(new ArrayList<>(), null, null);
+        if (userId == null || userId.isEmpty()) {
+            return emptyPage;
+        }
+
+        // 커서: "n:{timestamp}" = 그 항목 다음(더 오래된) 페이지, "p:{timestamp}" = 그 항목 이전(더 최신) 페이지
+        boolean backward = false;
+        String startTimestamp = null;
+        String decodedCursor = decodeCursor(cursor);
+        if (decodedCursor != null) {
+            backward = decodedCursor.startsWith("p:");
+            startTimestamp = decodedCursor.substring(2);
+        }
+
+        QueryRequest.Builder queryBuilder = QueryRequest.builder()
+                .tableName(dynamoDbTableName)
+                .keyConditionExpression("userId = :userId")
+                .expressionAttributeValues(Map.of(":userId", AttributeValue.builder().s(userId).build()))
+                .projectionExpression(HISTORY_PROJECTION)
+                .scanIndexForward(backward) // 다음 페이지는 내림차순, 이전 페이지는 오름차순으로 읽은 뒤 뒤집음
+                .limit(pageSize + 1); // 한 개 더 읽어서 다음 페이지 존재 여부 확인
+        if (startTimestamp != null) {
+            queryBuilder.exclusiveStartKey(Map.of(
+                    "userId", AttributeValue.builder().s(userId).build(),
+                    "analysisTimestamp", AttributeValue.builder().n(startTimestamp).build()));
+        }
+
+        try {
+            List<Map<String, AttributeValue>> items = storageMetrics.record("dynamodb", "query",
+                    () -> dynamoDbClient.query(queryBuilder.build())).items();
+            boolean hasMore = items.size() > pageSize;
+            List<Map<String, String>> pageItems = new ArrayList<>(Math.min(items.size(), pageSize));
+            for (int i = 0; i < Math.min(items.size(), pageSize); i++) {
+                Map<String, String> historyItem = toHistoryItem(items.get(i));
+                // 목록에서 상세 보기로 넘어갈 때 GetItem 한 번으로 읽을 수 있도록 키를 기록
+                analysisMetadataCache.putTimestamp(userId, historyItem.get("analysisId"), historyItem.get("analysisTimestamp"));
+                pageItems.add(historyItem);
+            }
+            if (backward) {
+                Collections.reverse(pageItems);
+            }
+
+            boolean hasNext = backward || hasMore;
+            boolean hasPrev = backward ? hasMore : startTimestamp != null;
+            String nextCursor = hasNext && !pageItems.isEmpty()
+                    ? encodeCursor("n:" + pageItems.get(pageItems.size() - 1).get("analysisTimestamp")) : null;
+            String prevCursor = hasPrev && !pageItems.isEmpty()
+                    ? encodeCursor("p:" + pageItems.get(0).get("analysisTimestamp")) : null;
+            log.info("사용자 {}의 분석 기록 페이지 조회 완료: {}개", userId, pageItems.size());
+            return new AnalysisHistoryPage(pageItems, nextCursor, prevCursor);
+        } catch (Exception e) {
+            log.error("DynamoDB에서 사용자 분석 기록 페이지 조회 실패: {}", e.getMessage(), e);
+            return emptyPage;
+        }
+    }
+
+    /**
+     * 특정 분석 기록의 메타데이터를 조회합니다. (소유자 확인 포함)
+     * 사용자별 캐시를 먼저 보고, 없으면 테이블 키로 GetItem 한 번만 수행합니다.
+     * (키를 모르는 경우에만 analysisId 인덱스 조회가 추가됨)
+     * @param userId 로그인한 사용자 ID
+     * @param analysisId 분석 ID
+     * @return 메타데이터 Map (없거나 다른 사용자의 기록이면 null)
+     */
+    @Override
+    public Map<String, String> getAnalysisMetadata(String userId, String analysisId) {
+        if (userId == null || userId.isEmpty() || analysisId == null || analysisId.isEmpty()) {
+            return null;
+        }
+        Map<String, String> cached = analysisMetadataCache.get(userId, analysisId);
+        if (cached != null) {
+            return cached;
+        }
+
+        try {
+            Map<String, AttributeValue> key;
+            String timestamp = analysisMetadataCache.getTimestamp(userId, analysisId);
+            if (timestamp != null) {
+                key = Map.of(
+                        "userId", AttributeValue.builder().s(userId).build(),
+                        "analysisTimestamp", AttributeValue.builder().n(timestamp).build());
+            } else {
+                key = findAnalysisKey(userId, analysisId);
+                if (key == null) {
+                    return null;
+                }
+            }
+
+            Map<String, AttributeValue> item = storageMetrics.record("dynamodb", "getItem",
+                    () -> dynamoDbClient.getItem(GetItemRequest.builder()
+                            .tableName(dynamoDbTableName)
+                            .key(key) // 파티션 키가 userId 이므로 다른 사용자의 항목은 읽을 수 없음
+                            .build())).item();
+            if (item == null || item.isEmpty() || item.get("analysisId") == null
+                    || !analysisId.equals(item.get("analysisId").s())) {
+                analysisMetadataCache.invalidate(userId, analysisId);
+                return null;
+            }
+            Map<String, String> metadata = toHistoryItem(item);
+            analysisMetadataCache.put(userId, analysisId, metadata);
+            return metadata;
+        } catch (Exception e) {
+            log.error("DynamoDB에서 분석 메타데이터 조회 실패 (userId={}, analysisId={}): {}", userId, analysisId, e.getMessage(), e);
+            return null;
+        }
+    }
+
+    // DynamoDB 항목 -> 화면용 Map (HistoryItemBenchmark 에서 직접 호출)
+    // 예전 형식(전체 속성 이름 + 경로 저장)과 압축 형식(fv 속성이 있음) 모두 같은 Map 으로 변환합니다.
+    static Map<String, String> toHistoryItem(Map<String, AttributeValue> item) {
+        Map<String, String> simplifiedItem = new HashMap<>(16);
+        String userId = item.get("userId") != null ? item.get("userId").s() : "";
+        String analysisId = item.get("analysisId") != null ? item.get("analysisId").s() : "";
+        simplifiedItem.put("userId", userId);
+        simplifiedItem.put("analysisId", analysisId);
+        if (item.containsKey(ATTR_FORMAT_VERSION)) {
+            String fileName = item.get(ATTR_FILE_NAME) != null ? item.get(ATTR_FILE_NAME).s() : null;
+            String resumeKey = "N/A";
+            if (item.get(ATTR_RESUME_KEY) != null) {
+                resumeKey = item.get(ATTR_RESUME_KEY).s();
+            } else if (item.get(ATTR_HAS_RESUME) != null && Boolean.TRUE.equals(item.get(ATTR_HAS_RESUME).bool())) {
+                resumeKey = resumeFileKey(userId, analysisId, fileName);
+            }
+            simplifiedItem.put("originalFileName", fileName != null ? fileName : TEXT_INPUT_FILE_NAME);
+            simplifiedItem.put("targetJob", item.get(ATTR_TARGET_JOB) != null ? item.get(ATTR_TARGET_JOB).s() : "");
+            simplifiedItem.put("s3AnalysisResultPath", analysisResultKey(userId, analysisId));
+            simplifiedItem.put("s3ResumePath", resumeKey);
+        } else {
+            simplifiedItem.put("originalFileName", item.get("originalFileName") != null ? item.get("originalFileName").s() : "");
+            simplifiedItem.put("targetJob", item.get("targetJob") != null ? item.get("targetJob").s() : "");
+            simplifiedItem.put("s3AnalysisResultPath", item.get("s3AnalysisResultPath") != null ? item.get("s3AnalysisResultPath").s() : "");
+            simplifiedItem.put("s3ResumePath", item.get("s3ResumePath") != null ? item.get("s3ResumePath").s() : ""); // DynamoDB에서 조회한 원본 이력서 S3 경로 추가
+        }
+
+        // 타임스탬프를 읽기 쉬운 형식으로 변환
+        if (item.get("analysisTimestamp") != null && item.get("analysisTimestamp").n() != null) {
+            long epochSecond = toEpochSecond(Long.parseLong(item.get("analysisTimestamp").n()));
+            LocalDateTime dateTime = LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+            simplifiedItem.put("analysisTimestamp", item.get("analysisTimestamp").n());
+            simplifiedItem.put("analysisDate", dateTime.format(ANALYSIS_DATE_FORMATTER));
+        } else {
+            simplifiedItem.put("analysisDate", "날짜 정보 없음");
+        }
+        return simplifiedItem;
+    }
+
+    private String encodeCursor(String cursor) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 잘못된 커서는 첫 페이지로 처리
+    private String decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if ((decoded.startsWith("n:") || decoded.startsWith("p:")) && decoded.substring(2).matches("\\d+")) {
+                return decoded;
+            }
+        } catch (IllegalArgumentException e) {
+            // fall through
+        }
+        log.warn("잘못된 분석 기록 커서: {}", cursor);
+        return null;
+    }
+
     /**
      * S3에 저장된 특정 분석 결과 JSON 파일을 가져옵니다.
+     * result.json 은 한 번 쓰면 바뀌지 않으므로 파싱된 결과를 캐시하고, 보관 시간이 지나면 ETag 로만 재검증합니다.
      * @param s3AnalysisResultPath S3 객체 키 (DynamoDB에서 조회한 경로)
      * @return 분석 결과 Map
      */
-    public Map<String, Map<String, String>> getAnalysisResultFromS3(String s3AnalysisResultPath) {
+    @Override
+    public Map<String, Map<String, String>> getAnalysisResult(String s3AnalysisResultPath) {
         if (s3AnalysisResultPath == null || s3AnalysisResultPath.isEmpty() || "N/A".equals(s3AnalysisResultPath)) {
             log.warn("S3 분석 결과 경로가 유효하지 않습니다: {}", s3AnalysisResultPath);
             return new HashMap<>();
         }
         try {
-            GetObjectRequest getObjectRequest = GetObjectRequest.builder()
-                    .bucket(s3BucketName)
-                    .key(s3AnalysisResultPath)
-                    .build();
-            String jsonString = s3Client.getObjectAsBytes(getObjectRequest).asUtf8String();
-            // ObjectMapper를 사용하여 JSON String을 Map<String, Map<String, String>>으로 변환
-            return objectMapper.readValue(jsonString, new com.fasterxml.jackson.core.type.TypeReference<Map<String, Map<String, String>>>() {});
+            return analysisResultJsonCache.get(s3AnalysisResultPath);
         } catch (Exception e) {
             log.error("S3에서 분석 결과 JSON 파일 로드 실패 (경로: {}): {}", s3AnalysisResultPath, e.getMessage(), e);
             return new HashMap<>();
         }
     }
 
+    /**
+     * 원본 이력서 다운로드용 pre-signed URL 을 만듭니다. (버킷을 공개하지 않고, 다운로드는 브라우저 -> S3 직접)
+     * 같은 객체는 만료 전까지 캐시된 URL 을 재사용합니다.
+     * @param s3ResumePath 원본 이력서 S3 객체 키
+     * @return pre-signed URL (경로가 없으면 null)
+     */
+    public String generatePresignedUrlForDownload(String s3ResumePath) {
+        if (s3ResumePath == null || s3ResumePath.isEmpty() || "N/A".equals(s3ResumePath)) {
+            return null;
+        }
+        return presignedUrlCache.get(s3ResumePath);
+    }
+
+    @Override
+    public String getResumeDownloadUrl(String resumePath) {
+        return generatePresignedUrlForDownload(resumePath);
+    }
+
     /**
      * 특정 사용자의 이력서 분석 기록을 삭제합니다.
-     * DynamoDB에서 메타데이터를 삭제하고, S3의 원본 파일과 분석 결과 JSON 파일도 삭제합니다.
+     * analysisId 인덱스로 키를 찾은 뒤, 조건부 DeleteItem 한 번과 S3 DeleteObjects 한 번으로 정리합니다.
+     * (사용자의 기록 수와 관계없이 삭제 비용이 일정)
      * @param userId 삭제를 요청한 사용자 ID (보안 검증용)
-
+     * @param analysisId 삭제할 분석 ID
      * @return 삭제 성공 여부
      */
-    // 매개변수 이름을 다시 analysisId로 변경합니다. (JSP에서 UUID가 넘어오므로)
+    @Override
     public boolean deleteAnalysisResult(String userId, String analysisId) {
         if (userId == null || userId.isEmpty() || analysisId == null || analysisId.isEmpty()) {
             log.warn("삭제 요청에 필요한 사용자 ID 또는 분석 ID가 누락되었습니다. userId={}, analysisId={}", userId, analysisId);
             return false;
         }
 
-        // --- 수정 시작: analysisId (UUID)로 analysisTimestamp (Number)를 찾아야 합니다. ---
-        // DynamoDB 테이블 스키마: 파티션 키(userId), 정렬 키(analysisTimestamp)
-        // analysisId는 DynamoDB 항목의 일반 속성으로 저장되어 있을 것입니다.
-
-        String actualAnalysisTimestamp = null;
-        Map<String, AttributeValue> itemToDelete = null;
-
         try {
-            // 1. Query를 사용하여 userId와 analysisId로 항목을 찾아 analysisTimestamp를 얻습니다.
-            //    이때 analysisId가 어떤 속성 이름으로 DynamoDB에 저장되어 있는지 알아야 합니다.
-            //    예를 들어, DynamoDB 항목에 'analysisId'라는 속성이 있다고 가정합니다.
-            //    만약 'analysisId'가 GSI(글로벌 보조 인덱스)로 설정되어 있다면 Query를 더 효율적으로 할 수 있지만,
-            //    여기서는 파티션 키 'userId'를 사용하여 해당 사용자의 모든 항목을 조회한 후 필터링하는 방식으로 진행합니다.
-            //    **주의: 이 방법은 해당 userId의 항목 수가 많으면 비효율적일 수 있습니다.
-            //    이상적인 경우, analysisId에 대한 GSI가 있거나, analysisTimestamp 자체가 UUID여야 합니다.**
-
-            QueryRequest queryRequest = QueryRequest.builder()
-                    .tableName(dynamoDbTableName)
-                    .keyConditionExpression("userId = :userIdVal") // 파티션 키 조건
-                    .filterExpression("analysisId = :analysisIdVal") // analysisId로 필터링
-                    .expressionAttributeValues(Map.of(
-                            ":userIdVal", AttributeValue.builder().s(userId).build(),
-                            ":analysisIdVal", AttributeValue.builder().s(analysisId).build()
-                    ))
-                    .build();
-
-            QueryResponse queryResponse = dynamoDbClient.query(queryRequest);
-            List<Map<String, AttributeValue>> items = queryResponse.items();
-
-            if (items.isEmpty()) {
+            // 1. analysisId -> 테이블 키 (userId + analysisTimestamp)
+            String cachedTimestamp = analysisMetadataCache.getTimestamp(userId, analysisId);
+            Map<String, AttributeValue> deleteKey = cachedTimestamp != null
+                    ? Map.of("userId", AttributeValue.builder().s(userId).build(),
+                             "analysisTimestamp", AttributeValue.builder().n(cachedTimestamp).build())
+                    : findAnalysisKey(userId, analysisId);
+            if (deleteKey == null) {
                 log.warn("DynamoDB에서 삭제할 항목을 찾을 수 없습니다. userId={}, analysisId={}", userId, analysisId);
                 return false;
             }
 
-            // 정확히 하나의 항목이 발견되었다고 가정합니다.
-            itemToDelete = items.get(0);
-            if (itemToDelete.containsKey("analysisTimestamp")) {
-                actualAnalysisTimestamp = itemToDelete.get("analysisTimestamp").n(); // Number 타입이므로 .n()으로 가져옵니다.
-            } else {
-                log.warn("조회된 항목에 analysisTimestamp 속성이 없습니다. userId={}, analysisId={}", userId, analysisId);
-                return false;
+            // 2. DynamoDB 항목 삭제 (analysisId 가 일치할 때만) + 삭제된 항목에서 S3 경로 얻기
+            DeleteItemRequest deleteItemRequest = DeleteItemRequest.builder()
+                    .tableName(dynamoDbTableName)
+                    .key(deleteKey)
+                    .conditionExpression("analysisId = :analysisIdVal")
+                    .expressionAttributeValues(Map.of(":analysisIdVal", AttributeValue.builder().s(analysisId).build()))
+                    .returnValues(ReturnValue.ALL_OLD)
+                    .build();
+            Map<String, AttributeValue> deletedItem = storageMetrics.record("dynamodb", "deleteItem",
+                    () -> dynamoDbClient.deleteItem(deleteItemRequest)).attributes();
+            analysisMetadataCache.invalidate(userId, analysisId);
+            log.info("DynamoDB 항목 삭제 완료: userId={}, analysisId={}, analysisTimestamp={}",
+                    userId, analysisId, deleteKey.get("analysisTimestamp").n());
+
+            // 3. S3 객체 삭제 (원본 이력서 + 분석 결과 JSON + 청크 요약 + 추출 텍스트를 한 번의 요청으로)
+            List<ObjectIdentifier> objectsToDelete = new ArrayList<>(4);
+            Map<String, String> deletedMetadata = toHistoryItem(deletedItem); // 압축 형식이면 경로를 여기서 만듦
+            String s3ResumePath = deletedMetadata.get("s3ResumePath");
+            String s3AnalysisResultPath = deletedMetadata.get("s3AnalysisResultPath");
+            if (s3ResumePath != null && !s3ResumePath.isEmpty() && !"N/A".equals(s3ResumePath)) {
+                objectsToDelete.add(ObjectIdentifier.builder().key(s3ResumePath).build());
+                presignedUrlCache.evict(s3ResumePath);
             }
-
-            if (actualAnalysisTimestamp == null || actualAnalysisTimestamp.isEmpty()) {
-                log.warn("조회된 analysisTimestamp 값이 유효하지 않습니다. userId={}, analysisId={}", userId, analysisId);
-                return false;
+            if (s3AnalysisResultPath != null && !s3AnalysisResultPath.isEmpty()) {
+                objectsToDelete.add(ObjectIdentifier.builder().key(s3AnalysisResultPath).build());
+                analysisResultJsonCache.evict(s3AnalysisResultPath);
             }
-
-            // --- 수정 끝 ---
-
-
-            // S3 경로 추출 - 기존 코드와 동일
-            String s3ResumePath = itemToDelete.get("s3ResumePath") != null ? itemToDelete.get("s3ResumePath").s() : null;
-            String s3AnalysisResultPath = itemToDelete.get("s3AnalysisResultPath") != null ? itemToDelete.get("s3AnalysisResultPath").s() : null;
-
-            // 2. S3 객체 삭제 (원본 이력서 파일) - 기존 코드와 동일
-            if (s3ResumePath != null && !"N/A".equals(s3ResumePath)) {
+            objectsToDelete.add(ObjectIdentifier.builder().key(chunkSummariesKey(userId, analysisId)).build()); // 없어도 오류 아님
+            objectsToDelete.add(ObjectIdentifier.builder().key(extractedTextKey(userId, analysisId)).build());
+            if (!objectsToDelete.isEmpty()) {
                 try {
-                    DeleteObjectRequest deleteResumeFileRequest = DeleteObjectRequest.builder()
-                            .bucket(s3BucketName)
-                            .key(s3ResumePath)
-                            .build();
-                    s3Client.deleteObject(deleteResumeFileRequest);
-                    log.info("S3 원본 이력서 파일 삭제 완료: {}", s3ResumePath);
+                    DeleteObjectsResponse deleteObjectsResponse = storageMetrics.record("s3", "deleteObjects",
+                            () -> s3Client.deleteObjects(DeleteObjectsRequest.builder()
+                                    .bucket(s3BucketName)
+                                    .delete(Delete.builder().objects(objectsToDelete).quiet(true).build())
+                                    .build()));
+                    if (deleteObjectsResponse.hasErrors() && !deleteObjectsResponse.errors().isEmpty()) {
+                        deleteObjectsResponse.errors().forEach(error ->
+                                log.error("S3 객체 삭제 실패 (경로: {}): {}", error.key(), error.message()));
+                    } else {
+                        log.info("S3 객체 삭제 완료: {}", objectsToDelete.stream().map(ObjectIdentifier::key).toList());
+                    }
                 } catch (Exception e) {
-                    log.error("S3 원본 이력서 파일 삭제 실패 (경로: {}): {}", s3ResumePath, e.getMessage());
+                    // 메타데이터는 이미 삭제되었으므로 기록 삭제 자체는 성공으로 처리
+                    log.error("S3 객체 삭제 실패: {}", e.getMessage());
                 }
             }
-
-            // 3. S3 객체 삭제 (분석 결과 JSON 파일) - 기존 코드와 동일
-            if (s3AnalysisResultPath != null) {
-                try {
-                    DeleteObjectRequest deleteAnalysisResultRequest = DeleteObjectRequest.builder()
-                            .bucket(s3BucketName)
-                            .key(s3AnalysisResultPath)
-                            .build();
-                    s3Client.deleteObject(deleteAnalysisResultRequest);
-                    log.info("S3 분석 결과 JSON 파일 삭제 완료: {}", s3AnalysisResultPath);
-                } catch (Exception e) {
-                    log.error("S3 분석 결과 JSON 파일 삭제 실패 (경로: {}): {}", s3AnalysisResultPath, e.getMessage());
-                }
-            }
-
-            // 4. DynamoDB 항목 삭제
-            Map<String, AttributeValue> deleteKey = new HashMap<>();
-            deleteKey.put("userId", AttributeValue.builder().s(userId).build()); // 파티션 키
-            deleteKey.put("analysisTimestamp", AttributeValue.builder().n(actualAnalysisTimestamp).build()); // **조회된 실제 타임스탬프 사용 (Number 타입)**
-
-            DeleteItemRequest deleteItemRequest = DeleteItemRequest.builder()
-                    .tableName(dynamoDbTableName)
-                    .key(deleteKey)
-                    .build();
-
-            dynamoDbClient.deleteItem(deleteItemRequest);
-            log.info("DynamoDB 항목 삭제 완료: userId={}, analysisId={}, actualAnalysisTimestamp={}", userId, analysisId, actualAnalysisTimestamp);
             return true;
 
+        } catch (ConditionalCheckFailedException e) {
+            analysisMetadataCache.invalidate(userId, analysisId);
+            log.warn("삭제 대상 항목이 이미 변경/삭제되었습니다. userId={}, analysisId={}", userId, analysisId);
+            return false;
         } catch (DynamoDbException e) {
             log.error("이력서 분석 기록 삭제 중 DynamoDB 오류 발생: {}", e.getMessage(), e);
             return false;
@@ -324,4 +765,78 @@ public class ResumeStorageService {
             return false;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * analysisId 로 테이블 키(userId + analysisTimestamp)를 찾습니다.
+     * analysisId 글로벌 보조 인덱스(aws.dynamodb.analysisIdIndex)를 조회하므로 사용자의 기록 수와 관계없이 비용이 일정합니다.
+     * 인덱스가 아직 없는 테이블에서는 예전 방식(사용자 파티션 Query + filter)으로 대체합니다.
+     * @return 테이블 키 (없거나 다른 사용자의 기록이면 null)
+     */
+    // 인덱스가 아직 없을 때만 사용자 파티션 조회로 대체합니다. (스로틀링 등 다른 오류는 그대로 던짐)
+    private Map<String, AttributeValue> findAnalysisKey(String userId, String analysisId) {
+        List<Map<String, AttributeValue>> items;
+        try {
+            items = storageMetrics.record("dynamodb", "queryIndex", () -> dynamoDbClient.query(QueryRequest.builder()
+                    .tableName(dynamoDbTableName)
+                    .indexName(analysisIdIndexName)
+                    .keyConditionExpression("analysisId = :analysisIdVal")
+                    .expressionAttributeValues(Map.of(":analysisIdVal", AttributeValue.builder().s(analysisId).build()))
+                    .limit(1)
+                    .build())).items();
+        } catch (DynamoDbException e) {
+            if (!isMissingIndex(e)) {
+                throw e;
+            }
+            log.warn("analysisId 인덱스({})가 없어 사용자 파티션 조회로 대체합니다: {}", analysisIdIndexName, e.getMessage());
+            items = queryPartitionForAnalysis(userId, analysisId);
+        }
+
+        if (items.isEmpty()) {
+            return null;
+        }
+        Map<String, AttributeValue> item = items.get(0);
+        // 다른 사용자의 analysisId 로는 접근할 수 없도록 확인
+        if (item.get("userId") == null || !userId.equals(item.get("userId").s()) || item.get("analysisTimestamp") == null) {
+            return null;
+        }
+        return Map.of(
+                "userId", item.get("userId"), // 파티션 키
+                "analysisTimestamp", item.get("analysisTimestamp")); // 정렬 키 (Number 타입)
+    }
+
+    // 사용자 파티션 전체를 페이지 단위로 훑어 analysisId 항목을 찾습니다. (찾으면 중단)
+    private List<Map<String, AttributeValue>> queryPartitionForAnalysis(String userId, String analysisId) {
+        Map<String, AttributeValue> startKey = null;
+        do {
+            QueryRequest.Builder request = QueryRequest.builder()
+                    .tableName(dynamoDbTableName)
+                    .keyConditionExpression("userId = :userIdVal") // 파티션 키 조건
+                    .filterExpression("analysisId = :analysisIdVal") // analysisId로 필터링
+                    .projectionExpression("userId, analysisId, analysisTimestamp")
+                    .expressionAttributeValues(Map.of(
+                            ":userIdVal", AttributeValue.builder().s(userId).build(),
+                            ":analysisIdVal", AttributeValue.builder().s(analysisId).build()
+                    ));
+            if (startKey != null) {
+                request.exclusiveStartKey(startKey);
+            }
+            QueryResponse response = storageMetrics.record("dynamodb", "query", () -> dynamoDbClient.query(request.build()));
+            if (!response.items().isEmpty()) {
+                return response.items();
+            }
+            startKey = response.hasLastEvaluatedKey() && !response.lastEvaluatedKey().isEmpty()
+                    ? response.lastEvaluatedKey() : null;
+        } while (startKey != null);
+        return List.of();
+    }
+
+    // 테이블은 있지만 GSI 가 없으면 ValidationException, 테이블/인덱스 리소스가 없으면 ResourceNotFoundException
+    private static boolean isMissingIndex(DynamoDbException e) {
+        if (e instanceof ResourceNotFoundException) {
+            return true;
+        }
+        String errorCode = e.awsErrorDetails() != null ? e.awsErrorDetails().errorCode() : null;
+        return "ValidationException".equals(errorCode)
+                && e.getMessage() != null && e.getMessage().contains("specified index");
+    }
+}
@@ -0,0 +1,248 @@
+package me.kwakinsung.smresume.app.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+// 이력서 텍스트를 OpenAI 청크 요약용 조각으로 나눕니다. (글자 수 기준 splitText 대체)
+// 1) 정리: 공백/제어 문자, PDF 머리글·바닥글·쪽 번호, 줄 끝 하이픈 제거
+// 2) 분할: 섹션(제목) → 문단 → 문장 순서로 경계를 지키면서 토큰 예산(openai.chunk.token-budget)까지 채웁니다.
+// 토큰 수는 추정치입니다. (한글/한자 1글자 ≈ 1토큰, 영문/숫자 4글자 ≈ 1토큰, 문장 부호 1토큰)
+@Component
+public class ResumeTextChunker {
+
+    private static final char PAGE_BREAK = '\f'; // ResumeTextExtractor 가 PDF 페이지 사이에 넣는 구분자
+
+    private static final Pattern PARAGRAPH_BREAK = Pattern.compile("\\n\\s*\\n");
+    private static final Pattern SENTENCE_BREAK = Pattern.compile("(?<=[.!?。])\\s+|\\n");
+    private static final Pattern HORIZONTAL_SPACE = Pattern.compile("[ \\t\\x0B\\u00A0\\u2000-\\u200A\\u3000]+");
+    private static final Pattern INVISIBLE = Pattern.compile("[\\u00AD\\u200B-\\u200D\\uFEFF]");
+    private static final Pattern HYPHENATED_LINE_END = Pattern.compile("([A-Za-z])-\\n([a-z])");
+    private static final Pattern EXCESS_BLANK_LINES = Pattern.compile("\\n{3,}");
+    private static final Pattern PAGE_NUMBER = Pattern.compile(
+            "(?i)^(-\\s*)?\\d{1,3}(\\s*-)?$|^\\d{1,3}\\s*/\\s*\\d{1,3}$|^(page|p\\.)\\s*\\d{1,3}(\\s*(of|/)\\s*\\d{1,3})?$");
+    private static final Pattern DIGITS = Pattern.compile("\\d+");
+    // "경력", "Experience", "## 프로젝트", "[학력]", "기술 스택:" 처럼 짧은 제목 줄
+    private static final Pattern HEADING = Pattern.compile(
+            "^(#{1,6}\\s*\\S.{0,38}|\\[[^\\]]{1,30}]|[■□●◆▶▣※]\\s*\\S.{0,30}|[^.!?。,]{1,30}:|[A-Z][A-Z &/]{2,30}|[가-힣A-Za-z ]{2,12})$");
+
+    private final int tokenBudget;
+
+    public ResumeTextChunker(@Value("${openai.chunk.token-budget:2500}") int tokenBudget) {
+        this.tokenBudget = Math.max(100, tokenBudget);
+    }
+
+    /**
+     * 정리한 텍스트를 기본 토큰 예산으로 나눕니다.
+     */
+    public List<String> chunk(String text) {
+        return chunk(text, tokenBudget);
+    }
+
+    /**
+     * 정리한 텍스트를 섹션/문단/문장 경계를 지키며 tokenBudget 이하의 조각으로 나눕니다.
+     * 한 문장이 예산보다 길 때만 단어 경계에서 자릅니다.
+     * @param text 추출된 이력서 텍스트
+     * @param tokenBudget 조각 하나의 최대 (추정) 토큰 수
+     * @return 조각 목록 (내용이 없으면 빈 목록)
+     */
+    public List<String> chunk(String text, int tokenBudget) {
+        String cleaned = clean(text);
+        List<String> chunks = new ArrayList<>();
+        if (cleaned.isEmpty()) {
+            return chunks;
+        }
+
+        StringBuilder current = new StringBuilder();
+        int currentTokens = 0;
+        String pendingHeading = null;
+        for (String paragraph : PARAGRAPH_BREAK.split(cleaned)) {
+            paragraph = paragraph.strip();
+            if (paragraph.isEmpty()) {
+                continue;
+            }
+            // 제목만 있는 문단은 다음 문단과 같은 조각에 들어가도록 붙여 둠
+            if (paragraph.indexOf('\n') < 0 && isHeading(paragraph)) {
+                pendingHeading = pendingHeading == null ? paragraph : pendingHeading + "\n" + paragraph;
+                continue;
+            }
+            if (pendingHeading != null) {
+                paragraph = pendingHeading + "\n" + paragraph;
+                pendingHeading = null;
+            }
+            int paragraphTokens = estimateTokens(paragraph);
+
+            // 문단이 들어가지 않으면 새 조각에서 시작 (섹션/문단 중간에서 자르지 않음)
+            if (currentTokens > 0 && currentTokens + paragraphTokens > tokenBudget) {
+                chunks.add(current.toString());
+                current.setLength(0);
+                currentTokens = 0;
+            }
+
+            if (paragraphTokens <= tokenBudget) {
+                if (currentTokens > 0) {
+                    current.append("\n\n");
+                }
+                current.append(paragraph);
+                currentTokens += paragraphTokens;
+                continue;
+            }
+
+            // 예산보다 긴 문단은 문장 단위로 채움
+            for (String sentence : splitSentences(paragraph, tokenBudget)) {
+                int sentenceTokens = estimateTokens(sentence);
+                if (currentTokens > 0 && currentTokens + sentenceTokens > tokenBudget) {
+                    chunks.add(current.toString());
+                    current.setLength(0);
+                    currentTokens = 0;
+                }
+                if (currentTokens > 0) {
+                    current.append('\n');
+                }
+                current.append(sentence);
+                currentTokens += sentenceTokens;
+            }
+        }
+        if (pendingHeading != null) {
+            if (currentTokens > 0 && currentTokens + estimateTokens(pendingHeading) > tokenBudget) {
+                chunks.add(current.toString());
+                current.setLength(0);
+                currentTokens = 0;
+            }
+            current.append(currentTokens > 0 ? "\n\n" : "").append(pendingHeading);
+            currentTokens += estimateTokens(pendingHeading);
+        }
+        if (currentTokens > 0) {
+            chunks.add(current.toString());
+        }
+        return chunks;
+    }
+
+    /**
+     * 요약에 의미 없는 부분을 정리합니다.
+     * 보이지 않는 문자, 반복되는 PDF 머리글/바닥글과 쪽 번호, 줄 끝 하이픈, 중복 공백과 빈 줄을 제거합니다.
+     */
+    public String clean(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String normalized = INVISIBLE.matcher(text.replace("\r\n", "\n").replace('\r', '\n')).replaceAll("");
+
+        String[] pages = normalized.split(String.valueOf(PAGE_BREAK), -1);
+        Set<String> repeatedLines = findRepeatedPageEdges(pages);
+
+        StringBuilder result = new StringBuilder(normalized.length());
+        for (String page : pages) {
+            for (String rawLine : page.split("\n", -1)) {
+                String line = HORIZONTAL_SPACE.matcher(rawLine).replaceAll(" ").strip();
+                if (!line.isEmpty() && (PAGE_NUMBER.matcher(line).matches()
+                        || repeatedLines.contains(edgeKey(line)))) {
+                    continue;
+                }
+                result.append(line).append('\n');
+            }
+            result.append('\n'); // 페이지 경계 = 문단 경계
+        }
+
+        String joined = HYPHENATED_LINE_END.matcher(result).replaceAll("$1$2");
+        return EXCESS_BLANK_LINES.matcher(joined).replaceAll("\n\n").strip();
+    }
+
+    /**
+     * OpenAI 토큰 수를 대략 추정합니다. (정확한 토크나이저 없이 예산 계산용)
+     */
+    public static int estimateTokens(CharSequence text) {
+        int tokens = 0;
+        int asciiRun = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 128 && Character.isLetterOrDigit(c)) {
+                asciiRun++;
+                continue;
+            }
+            if (asciiRun > 0) {
+                tokens += (asciiRun + 3) / 4;
+                asciiRun = 0;
+            }
+            if (!Character.isWhitespace(c)) {
+                tokens++; // 한글/한자/문장 부호 등
+            }
+        }
+        return tokens + (asciiRun + 3) / 4;
+    }
+
+    // 3쪽 이상인 문서에서 절반 이상의 페이지 맨 위/맨 아래에 반복되는 줄 (숫자는 무시하고 비교)
+    private Set<String> findRepeatedPageEdges(String[] pages) {
+        Set<String> repeated = new HashSet<>();
+        if (pages.length < 3) {
+            return repeated;
+        }
+        Map<String, Integer> counts = new HashMap<>();
+        for (String page : pages) {
+            List<String> lines = page.lines().map(String::strip).filter(line -> !line.isEmpty()).toList();
+            if (lines.isEmpty()) {
+                continue;
+            }
+            Set<String> edges = new HashSet<>();
+            edges.add(edgeKey(HORIZONTAL_SPACE.matcher(lines.get(0)).replaceAll(" ")));
+            edges.add(edgeKey(HORIZONTAL_SPACE.matcher(lines.get(lines.size() - 1)).replaceAll(" ")));
+            edges.forEach(edge -> counts.merge(edge, 1, Integer::sum));
+        }
+        int threshold = Math.max(2, pages.length / 2);
+        counts.forEach((edge, count) -> {
+            if (count >= threshold) {
+                repeated.add(edge);
+            }
+        });
+        return repeated;
+    }
+
+    private String edgeKey(String line) {
+        return DIGITS.matcher(line).replaceAll("#");
+    }
+
+    private boolean isHeading(String line) {
+        return HEADING.matcher(line).matches();
+    }
+
+    // 문장(또는 줄) 단위로 나누고, 그래도 예산보다 긴 문장은 공백 경계에서 자릅니다.
+    private List<String> splitSentences(String paragraph, int tokenBudget) {
+        List<String> sentences = new ArrayList<>();
+        for (String sentence : SENTENCE_BREAK.split(paragraph)) {
+            sentence = sentence.strip();
+            if (sentence.isEmpty()) {
+                continue;
+            }
+            if (estimateTokens(sentence) <= tokenBudget) {
+                sentences.add(sentence);
+                continue;
+            }
+            StringBuilder piece = new StringBuilder();
+            int pieceTokens = 0;
+            for (String word : sentence.split(" ")) {
+                int wordTokens = estimateTokens(word);
+                if (pieceTokens > 0 && pieceTokens + wordTokens > tokenBudget) {
+                    sentences.add(piece.toString());
+                    piece.setLength(0);
+                    pieceTokens = 0;
+                }
+                if (pieceTokens > 0) {
+                    piece.append(' ');
+                }
+                piece.append(word);
+                pieceTokens += wordTokens;
+            }
+            if (pieceTokens > 0) {
+                sentences.add(piece.toString());
+            }
+        }
+        return sentences;
+    }
+}
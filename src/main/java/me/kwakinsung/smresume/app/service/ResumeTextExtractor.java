@@ -0,0 +1,186 @@
+package me.kwakinsung.smresume.app.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.openxml4j.opc.PackageRelationshipCollection;
+import org.apache.poi.openxml4j.opc.PackageRelationshipTypes;
+import org.apache.poi.util.XMLHelper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// 업로드된 이력서 파일(디스크의 임시 파일)에서 텍스트를 추출합니다.
+// 파일 전체를 byte[] 로 읽지 않고, PDF 는 메모리 한도 + 스크래치 파일로 한 페이지씩,
+// DOCX 는 document.xml 을 SAX 로 흘려 읽어서 파일 크기와 관계없이 힙 사용량을 일정하게 유지합니다.
+@Component
+@Slf4j
+public class ResumeTextExtractor {
+
+    public static final String CONTENT_TYPE_PDF = "application/pdf";
+    public static final String CONTENT_TYPE_DOCX = "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+
+    private static final String WORDPROCESSING_NS = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${extraction.max-main-memory-bytes:8388608}") // 문서 하나가 쓸 수 있는 PDFBox 힙 한도 (초과분은 스크래치 파일)
+    private long maxMainMemoryBytes;
+
+    public ResumeTextExtractor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 텍스트 추출을 지원하는 파일 형식인지 확인합니다.
+     * @param contentType 업로드 파일의 Content-Type
+     * @return 지원 여부
+     */
+    public boolean isSupportedContentType(String contentType) {
+        return contentType != null
+                && (contentType.startsWith("text/plain")
+                || contentType.equals(CONTENT_TYPE_PDF)
+                || contentType.equals(CONTENT_TYPE_DOCX));
+    }
+
+    /**
+     * 이력서 파일에서 텍스트를 추출합니다. (txt, pdf, docx)
+     * @param file 디스크에 있는 업로드 파일
+     * @param contentType 업로드 파일의 Content-Type
+     * @return 추출된 텍스트
+     * @throws IOException 읽기 실패 또는 지원하지 않는 형식
+     */
+    public String extractText(Path file, String contentType) throws IOException {
+        if (contentType == null) {
+            throw new IOException("파일 형식을 알 수 없습니다.");
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String type = "other";
+        String outcome = "error";
+        try {
+            String text;
+            if (contentType.startsWith("text/plain")) {
+                type = "txt";
+                text = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            } else if (contentType.equals(CONTENT_TYPE_PDF)) {
+                type = "pdf";
+                text = extractPdf(file);
+            } else if (contentType.equals(CONTENT_TYPE_DOCX)) {
+                type = "docx";
+                text = extractDocx(file);
+            } else {
+                throw new IOException("지원하지 않는 파일 형식입니다: " + contentType);
+            }
+            outcome = "success";
+            return text;
+        } finally {
+            // 파일 형식별 추출 시간 (resume.extraction)
+            sample.stop(meterRegistry.timer("resume.extraction", "type", type, "outcome", outcome));
+        }
+    }
+
+    // 메모리 한도를 넘는 부분은 임시 스크래치 파일로 내리고, 페이지 단위로 텍스트를 뽑습니다.
+    private String extractPdf(Path file) throws IOException {
+        MemoryUsageSetting memoryUsage = MemoryUsageSetting.setupMixed(maxMainMemoryBytes);
+        try (PDDocument doc = PDDocument.load(file.toFile(), memoryUsage)) {
+            PDFTextStripper stripper = new PDFTextStripper();
+            StringBuilder text = new StringBuilder();
+            int pageCount = doc.getNumberOfPages();
+            for (int page = 1; page <= pageCount; page++) {
+                stripper.setStartPage(page);
+                stripper.setEndPage(page);
+                text.append(stripper.getText(doc));
+                if (page < pageCount) {
+                    text.append('\f'); // 페이지 구분 (ResumeTextChunker 가 머리글/바닥글 제거에 사용)
+                }
+            }
+            log.debug("PDF 텍스트 추출 완료: {}페이지, {}자", pageCount, text.length());
+            return text.toString();
+        }
+    }
+
+    // XWPFDocument(DOM) 대신 word/document.xml 을 SAX 로 읽어 w:t 텍스트만 모읍니다.
+    private String extractDocx(Path file) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(file.toFile(), PackageAccess.READ)) {
+            PackageRelationshipCollection relationships =
+                    pkg.getRelationshipsByType(PackageRelationshipTypes.CORE_DOCUMENT);
+            if (relationships.isEmpty()) {
+                throw new IOException("DOCX 본문(document.xml)을 찾을 수 없습니다.");
+            }
+            PackagePart documentPart = pkg.getPart(relationships.getRelationship(0));
+            DocumentTextHandler handler = new DocumentTextHandler();
+            try (InputStream inputStream = documentPart.getInputStream()) {
+                XMLReader reader = XMLHelper.newXMLReader();
+                reader.setContentHandler(handler);
+                reader.parse(new InputSource(inputStream));
+            }
+            return handler.text.toString();
+        } catch (InvalidFormatException | SAXException | ParserConfigurationException e) {
+            throw new IOException("DOCX 파일을 읽을 수 없습니다: " + e.getMessage(), e);
+        }
+    }
+
+    // w:t 는 텍스트, w:tab 은 탭, w:br / w:p 끝은 줄바꿈으로 변환
+    private static class DocumentTextHandler extends DefaultHandler {
+        private final StringBuilder text = new StringBuilder();
+        private boolean inText;
+        private boolean inTabStops; // w:pPr/w:tabs/w:tab 은 탭 위치 정의이므로 무시
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            if (!WORDPROCESSING_NS.equals(uri)) {
+                return;
+            }
+            switch (localName) {
+                case "t" -> inText = true;
+                case "tabs" -> inTabStops = true;
+                case "tab" -> {
+                    if (!inTabStops) {
+                        text.append('\t');
+                    }
+                }
+                case "br", "cr" -> text.append('\n');
+                default -> { }
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            if (!WORDPROCESSING_NS.equals(uri)) {
+                return;
+            }
+            if ("t".equals(localName)) {
+                inText = false;
+            } else if ("tabs".equals(localName)) {
+                inTabStops = false;
+            } else if ("p".equals(localName)) {
+                text.append('\n');
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (inText) {
+                text.append(ch, start, length);
+            }
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package me.kwakinsung.smresume.app.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+// 디스크의 파일을 S3 로 올립니다. 큰 파일은 멀티파트 업로드로 나눠 파트들을 동시에 전송합니다.
+// 각 파트는 FileChannel 위치 지정 읽기로 바로 전송하므로 파일 전체를 메모리에 올리지 않습니다.
+@Component
+@ConditionalOnProperty(name = "storage.type", havingValue = "s3", matchIfMissing = true)
+@Slf4j
+public class S3MultipartUploader {
+
+    private static final long MIN_PART_SIZE = 5L * 1024 * 1024; // S3 멀티파트 최소 파트 크기 (마지막 파트 제외)
+
+    private final S3Client s3Client;
+    private final Executor s3UploadExecutor;
+
+    @Value("${aws.s3.multipart.part-size:8388608}") // 파트 크기 (기본 8MB)
+    private long partSize;
+
+    @Value("${aws.s3.multipart.threshold:16777216}") // 이 크기 이상이면 멀티파트 업로드 (기본 16MB)
+    private long multipartThreshold;
+
+    @Autowired // 생성자 주입
+    public S3MultipartUploader(S3Client s3Client, @Qualifier("s3UploadExecutor") Executor s3UploadExecutor) {
+        this.s3Client = s3Client;
+        this.s3UploadExecutor = s3UploadExecutor;
+    }
+
+    /**
+     * 파일을 비동기로 업로드합니다. 반환된 future 가 끝나기 전에는 파일을 지우면 안 됩니다.
+     * @param bucket 버킷 이름
+     * @param key 객체 키
+     * @param file 업로드할 파일
+     * @return 업로드 완료 future (실패 시 예외로 완료, 멀티파트는 abort 처리됨)
+     */
+    public CompletableFuture<Void> upload(String bucket, String key, Path file) {
+        FileChannel channel;
+        long size;
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+            size = channel.size();
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        CompletableFuture<Void> upload = size < multipartThreshold
+                ? CompletableFuture.runAsync(() -> putObject(bucket, key, channel, size), s3UploadExecutor)
+                : multipartUpload(bucket, key, channel, size);
+        return upload.whenComplete((result, error) -> closeQuietly(channel));
+    }
+
+    private void putObject(String bucket, String key, FileChannel channel, long size) {
+        PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .build();
+        s3Client.putObject(putObjectRequest, regionBody(channel, 0, size));
+        log.info("S3 업로드 완료: {} ({} bytes)", key, size);
+    }
+
+    private CompletableFuture<Void> multipartUpload(String bucket, String key, FileChannel channel, long size) {
+        long effectivePartSize = Math.max(MIN_PART_SIZE, partSize);
+        return CompletableFuture.supplyAsync(() -> s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .build()).uploadId(), s3UploadExecutor)
+                .thenCompose(uploadId -> {
+                    // 모든 파트를 동시에 요청 (동시 전송 수는 s3UploadExecutor 크기로 제한)
+                    List<CompletableFuture<CompletedPart>> parts = new ArrayList<>();
+                    int partNumber = 1;
+                    for (long offset = 0; offset < size; offset += effectivePartSize, partNumber++) {
+                        long length = Math.min(effectivePartSize, size - offset);
+                        long partOffset = offset;
+                        int currentPart = partNumber;
+                        parts.add(CompletableFuture.supplyAsync(() -> uploadPart(bucket, key, uploadId, currentPart,
+                                channel, partOffset, length), s3UploadExecutor));
+                    }
+
+                    return CompletableFuture.allOf(parts.toArray(new CompletableFuture<?>[0]))
+                            .thenRunAsync(() -> {
+                                List<CompletedPart> completedParts = parts.stream().map(CompletableFuture::join).toList();
+                                s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                                        .bucket(bucket)
+                                        .key(key)
+                                        .uploadId(uploadId)
+                                        .multipartUpload(CompletedMultipartUpload.builder().parts(completedParts).build())
+                                        .build());
+                                log.info("S3 멀티파트 업로드 완료: {} ({} bytes, {}개 파트)", key, size, completedParts.size());
+                            }, s3UploadExecutor)
+                            .whenComplete((result, error) -> {
+                                if (error != null) {
+                                    abortQuietly(bucket, key, uploadId);
+                                }
+                            });
+                });
+    }
+
+    private CompletedPart uploadPart(String bucket, String key, String uploadId, int partNumber,
+                                     FileChannel channel, long offset, long length) {
+        UploadPartRequest uploadPartRequest = UploadPartRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .uploadId(uploadId)
+                .partNumber(partNumber)
+                .contentLength(length)
+                .build();
+        String eTag = s3Client.uploadPart(uploadPartRequest, regionBody(channel, offset, length)).eTag();
+        return CompletedPart.builder().partNumber(partNumber).eTag(eTag).build();
+    }
+
+    private void abortQuietly(String bucket, String key, String uploadId) {
+        try {
+            s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .build());
+            log.warn("S3 멀티파트 업로드 중단(abort): {}", key);
+        } catch (Exception e) {
+            log.error("S3 멀티파트 업로드 abort 실패 (key: {}): {}", key, e.getMessage());
+        }
+    }
+
+    // 파일의 [offset, offset + length) 구간을 읽는 요청 본문 (재시도 시 처음부터 다시 읽을 수 있음)
+    private RequestBody regionBody(FileChannel channel, long offset, long length) {
+        return RequestBody.fromContentProvider(() -> new FileRegionInputStream(channel, offset, length),
+                length, "application/octet-stream");
+    }
+
+    private void closeQuietly(FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.debug("FileChannel 닫기 실패: {}", e.getMessage());
+        }
+    }
+
+    // 위치 지정 읽기(read(buffer, position))만 쓰므로 여러 파트가 같은 채널을 동시에 읽어도 안전합니다.
+    private static class FileRegionInputStream extends InputStream {
+        private final FileChannel channel;
+        private long position;
+        private final long end;
+
+        FileRegionInputStream(FileChannel channel, long offset, long length) {
+            this.channel = channel;
+            this.position = offset;
+            this.end = offset + length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (position >= end) {
+                return -1;
+            }
+            int toRead = (int) Math.min(len, end - position);
+            int read = channel.read(ByteBuffer.wrap(b, off, toRead), position);
+            if (read == -1) {
+                throw new IOException("파일이 예상보다 짧습니다.");
+            }
+            position += read;
+            return read;
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(Integer.MAX_VALUE, end - position);
+        }
+    }
+}
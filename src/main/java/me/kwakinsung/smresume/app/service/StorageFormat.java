@@ -0,0 +1,55 @@
+package me.kwakinsung.smresume.app.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// S3 에 저장하는 분석 결과/청크 요약 객체의 형식 (storage.s3.format-version)
+// - 1: 압축하지 않은 JSON (예전 형식)
+// - 2: gzip 으로 압축한 JSON (Content-Encoding: gzip), DynamoDB 항목도 짧은 속성 이름만 사용
+// 읽을 때는 gzip 매직 바이트로 구분하므로 두 형식의 객체가 섞여 있어도 됩니다.
+final class StorageFormat {
+
+    static final int LEGACY = 1;
+    static final int COMPACT = 2;
+
+    static final String CONTENT_ENCODING_GZIP = "gzip";
+
+    private StorageFormat() {
+    }
+
+    static boolean isCompressed(int formatVersion) {
+        return formatVersion >= COMPACT;
+    }
+
+    /**
+     * 저장할 형식으로 변환합니다. (버전 2 이상이면 gzip 압축)
+     */
+    static byte[] encode(byte[] json, int formatVersion) {
+        if (!isCompressed(formatVersion)) {
+            return json;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // 메모리 스트림이라 실제로는 발생하지 않음
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 저장된 객체를 JSON 바이트로 되돌립니다. 압축되지 않은 예전 객체는 그대로 반환합니다.
+     */
+    static byte[] decode(byte[] stored) throws IOException {
+        if (stored.length < 2 || (stored[0] & 0xff) != 0x1f || (stored[1] & 0xff) != 0x8b) {
+            return stored;
+        }
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(stored))) {
+            return gzip.readAllBytes();
+        }
+    }
+}
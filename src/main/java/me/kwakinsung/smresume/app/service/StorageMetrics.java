@@ -0,0 +1,86 @@
+package me.kwakinsung.smresume.app.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+// S3/DynamoDB 호출 시간 기록 (storage.request{store, operation, outcome}) + JSON 파싱 실패 카운터
+@Component
+public class StorageMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public StorageMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 동기 호출을 실행하고 걸린 시간을 기록합니다.
+     * @param store s3 / dynamodb
+     * @param operation putObject, query 처럼 API 이름
+     */
+    public <T> T record(String store, String operation, Supplier<T> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            T result = call.get();
+            outcome = "success";
+            return result;
+        } catch (RuntimeException e) {
+            outcome = outcome(e);
+            throw e;
+        } finally {
+            sample.stop(timer(store, operation, outcome));
+        }
+    }
+
+    /**
+     * 비동기 호출을 시작하고, future 가 끝날 때 걸린 시간을 기록합니다.
+     */
+    public <T> CompletableFuture<T> recordAsync(String store, String operation, Supplier<CompletableFuture<T>> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            sample.stop(timer(store, operation, outcome(e)));
+            throw e;
+        }
+        return future.whenComplete((result, error) ->
+                sample.stop(timer(store, operation, error == null ? "success" : outcome(error))));
+    }
+
+    /**
+     * JSON 파싱 실패 (analysis.json.parse.failures{source})
+     */
+    public void parseFailure(String source) {
+        meterRegistry.counter("analysis.json.parse.failures", "source", source).increment();
+    }
+
+    private Timer timer(String store, String operation, String outcome) {
+        return meterRegistry.timer("storage.request", "store", store, "operation", operation, "outcome", outcome);
+    }
+
+    private String outcome(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof ConditionalCheckFailedException) {
+            return "conditional_failed";
+        }
+        if (cause instanceof AwsServiceException serviceException) {
+            return switch (serviceException.statusCode()) {
+                case 304 -> "not_modified";
+                case 404 -> "not_found";
+                case 400 -> serviceException.isThrottlingException() ? "throttled" : "error";
+                case 429, 503 -> "throttled";
+                default -> "error";
+            };
+        }
+        return "error";
+    }
+}
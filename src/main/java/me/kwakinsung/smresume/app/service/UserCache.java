@@ -0,0 +1,149 @@
+package me.kwakinsung.smresume.app.service;
+
+import me.kwakinsung.smresume.app.dto.UserDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 사용자 조회(UserService.get) 캐시 (로그인 시 매번 MySQL 을 조회하지 않도록)
+// - 최근 사용한 사용자 수(max-entries)와 보관 시간(ttl-seconds)으로 크기를 제한합니다.
+// - 없는 아이디도 짧게(negative-ttl-seconds) 기억해서, 존재하지 않는 아이디를 연달아 시도해도 DB 까지 가지 않습니다.
+// - 같은 아이디를 동시에 조회하면 DB 조회는 한 번만 하고 결과를 나눠 씁니다.
+// - 회원 가입/수정/탈퇴 시 UserService 가 invalidate 합니다.
+@Component
+public class UserCache {
+
+    public interface Loader {
+        UserDto load(String userid) throws Exception;
+    }
+
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final long negativeTtlMillis;
+    private final Map<String, Entry> entries;
+    private final Map<String, CompletableFuture<UserDto>> loading = new ConcurrentHashMap<>();
+    // invalidate 할 때마다 증가. 조회 도중 무효화되었으면 조회 결과를 캐시에 넣지 않습니다.
+    private final AtomicLong generation = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong negativeHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    // user 가 null 이면 "없는 아이디" 항목
+    private record Entry(UserDto user, long expiresAt) {
+    }
+
+    public UserCache(@Value("${user.cache.enabled:true}") boolean enabled,
+                     @Value("${user.cache.max-entries:10000}") int maxEntries,
+                     @Value("${user.cache.ttl-seconds:300}") long ttlSeconds,
+                     @Value("${user.cache.negative-ttl-seconds:30}") long negativeTtlSeconds) {
+        this.enabled = enabled;
+        this.ttlMillis = ttlSeconds * 1000L;
+        this.negativeTtlMillis = negativeTtlSeconds * 1000L;
+        // access-order LinkedHashMap = LRU
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 캐시된 사용자를 돌려주고, 없으면 loader 로 조회해서 캐시합니다. (없는 아이디면 null)
+     * 반환값은 복사본이므로 호출한 쪽에서 수정해도 캐시에는 영향이 없습니다.
+     */
+    public UserDto get(String userid, Loader loader) throws Exception {
+        if (!enabled || userid == null) {
+            return loader.load(userid);
+        }
+        synchronized (entries) {
+            Entry entry = entries.get(userid);
+            if (entry != null) {
+                if (entry.expiresAt() > System.currentTimeMillis()) {
+                    (entry.user() != null ? hits : negativeHits).incrementAndGet();
+                    return copy(entry.user());
+                }
+                entries.remove(userid);
+            }
+        }
+        misses.incrementAndGet();
+
+        CompletableFuture<UserDto> future = new CompletableFuture<>();
+        CompletableFuture<UserDto> inFlight = loading.putIfAbsent(userid, future);
+        if (inFlight != null) {
+            try {
+                return copy(inFlight.join()); // 같은 아이디를 조회 중인 요청의 결과를 기다림
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof Exception cause ? cause : e;
+            }
+        }
+        try {
+            long startGeneration = generation.get();
+            UserDto user = loader.load(userid);
+            synchronized (entries) {
+                if (generation.get() == startGeneration) {
+                    long ttl = user != null ? ttlMillis : negativeTtlMillis;
+                    entries.put(userid, new Entry(copy(user), System.currentTimeMillis() + ttl));
+                }
+            }
+            future.complete(user);
+            return copy(user);
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(userid, future);
+        }
+    }
+
+    /**
+     * 사용자 캐시를 지웁니다. (가입/수정/탈퇴 시)
+     */
+    public void invalidate(String userid) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.remove(userid);
+        }
+    }
+
+    /**
+     * 캐시 전체를 지웁니다. (대량 등록/동기화 후)
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.clear();
+        }
+    }
+
+    /**
+     * 캐시 통계 (메트릭용)
+     */
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        synchronized (entries) {
+            stats.put("size", (long) entries.size());
+        }
+        stats.put("hits", hits.get());
+        stats.put("negativeHits", negativeHits.get());
+        stats.put("misses", misses.get());
+        stats.put("evictions", evictions.get());
+        return stats;
+    }
+
+    private static UserDto copy(UserDto user) {
+        return user == null ? null : new UserDto(user.getUserid(), user.getUsername(), user.getUserpassword());
+    }
+}
@@ -3,11 +3,14 @@ package me.kwakinsung.smresume.app.service;
 import lombok.RequiredArgsConstructor;
 import me.kwakinsung.smresume.app.dto.UserDto;
 import me.kwakinsung.smresume.app.frame.ResumeService;
+import me.kwakinsung.smresume.app.repository.MyBatisBatchExecutor;
 import me.kwakinsung.smresume.app.repository.UserRepository;
+import org.apache.ibatis.cursor.Cursor;
 import org.springframework.stereotype.Service;
 
 
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
@@ -17,18 +20,36 @@ public class UserService implements ResumeService<String, UserDto> {
     //RequiredArgsConstructor를 써주면 CustService 객체가 생성될때 자동으로 custRepository 생성
     //RequiredArgsContructor를 사용하면, 필드를 final로..
     final UserRepository userRepository;
+    final UserCache userCache; // 로그인 조회 캐시 (가입/수정/탈퇴 시 무효화)
+    final MyBatisBatchExecutor batchExecutor; // 대량 등록용 BATCH 실행
 
     @Override
     public void add(UserDto usersDto) throws Exception {
         userRepository.insert(usersDto);
+        userCache.invalidate(usersDto.getUserid()); // "없는 아이디" 로 캐시되어 있을 수 있음
 
 
 
     }
 
+    @Override
+    public int addAll(Iterable<UserDto> usersDtos) throws Exception {
+        int count = batchExecutor.execute(UserRepository.class, usersDtos, UserRepository::insert);
+        userCache.invalidateAll(); // 건별로 지우는 대신 커밋 후 한 번에 비움
+        return count;
+    }
+
+    @Override
+    public int saveAll(Iterable<UserDto> usersDtos) throws Exception {
+        int count = batchExecutor.execute(UserRepository.class, usersDtos, UserRepository::upsert);
+        userCache.invalidateAll();
+        return count;
+    }
+
     @Override
     public void modify(UserDto usersDto) throws Exception {
         userRepository.update(usersDto);
+        userCache.invalidate(usersDto.getUserid());
 
 
     }
@@ -36,12 +57,13 @@ public class UserService implements ResumeService<String, UserDto> {
     @Override
     public void del(String s) throws Exception {
         userRepository.delete(s);
+        userCache.invalidate(s);
 
     }
 
     @Override
     public UserDto get(String s) throws Exception {
-        return userRepository.selectOne(s);
+        return userCache.get(s, userRepository::selectOne);
     }
 
     @Override
@@ -49,6 +71,15 @@ public class UserService implements ResumeService<String, UserDto> {
         return userRepository.select();
     }
 
+    @Override
+    public void forEach(Consumer<? super UserDto> action) throws Exception {
+        try (Cursor<UserDto> cursor = userRepository.selectCursor()) {
+            for (UserDto userDto : cursor) {
+                action.accept(userDto);
+            }
+        }
+    }
+
 
 
 
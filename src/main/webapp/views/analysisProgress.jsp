@@ -0,0 +1,169 @@
+<%@ page language="java" contentType="text/html; charset=UTF-8" pageEncoding="UTF-8"%>
+<%@ taglib uri="http://java.sun.com/jsp/jstl/core" prefix="c" %>
+<!DOCTYPE html>
+<html lang="ko">
+<head>
+    <meta charset="UTF-8">
+    <meta name="viewport" content="width=device-width, initial-scale=1.0">
+    <title>AI 이력서 분석 중</title>
+    <link href="https://cdn.jsdelivr.net/npm/bootstrap@5.3.0/dist/css/bootstrap.min.css" rel="stylesheet">
+    <link href="https://cdnjs.cloudflare.com/ajax/libs/font-awesome/6.5.0/css/all.min.css" rel="stylesheet">
+    <style>
+        body {
+            font-family: 'Segoe UI', sans-serif;
+            background: linear-gradient(135deg, #dfefff, #f0f5ff);
+            color: #333;
+            margin: 0;
+            padding: 0;
+        }
+        .main-content {
+            max-width: 960px;
+            margin: 40px auto;
+            background-color: #fff;
+            padding: 30px;
+            border-radius: 12px;
+            box-shadow: 0 6px 20px rgba(0, 0, 0, 0.1);
+        }
+        .page-header {
+            text-align: center;
+            margin-bottom: 30px;
+        }
+        .page-header h1 {
+            font-size: 2.2rem;
+            color: #2c3e50;
+        }
+        .progress-card {
+            background-color: #f8fbff;
+            border: 1px solid #dee2e6;
+            border-radius: 10px;
+            padding: 25px;
+        }
+        .progress {
+            height: 24px;
+            margin-bottom: 15px;
+        }
+        #stageText {
+            color: #6c757d;
+        }
+        #livePreview {
+            background-color: #fff;
+            border: 1px solid #dee2e6;
+            border-radius: 8px;
+            padding: 15px;
+            max-height: 360px;
+            overflow-y: auto;
+            white-space: pre-wrap;
+            font-size: 0.9rem;
+        }
+        @media (max-width: 768px) {
+            .main-content {
+                margin: 20px;
+                padding: 20px;
+            }
+        }
+    </style>
+</head>
+<body>
+<div class="container main-content">
+    <header class="page-header">
+        <h1><i class="fas fa-spinner fa-spin me-2"></i>이력서 분석 중</h1>
+        <c:if test="${not empty originalFileName}">
+            <p><strong>분석 이력서:</strong> ${originalFileName}</p>
+        </c:if>
+        <c:if test="${not empty targetJob}">
+            <p><strong>목표 직무:</strong> ${targetJob}</p>
+        </c:if>
+    </header>
+
+    <section class="progress-card">
+        <div class="progress">
+            <div id="progressBar" class="progress-bar progress-bar-striped progress-bar-animated"
+                 role="progressbar" style="width: 5%"></div>
+        </div>
+        <p id="stageText">분석 대기 중입니다...</p>
+        <div id="errorBox" class="alert alert-danger d-none" role="alert"></div>
+        <div id="livePreviewBox" class="d-none">
+            <h6 class="mt-3"><i class="fas fa-pen-nib me-2"></i>AI 분석 결과 작성 중...</h6>
+            <pre id="livePreview"></pre>
+        </div>
+    </section>
+</div>
+
+<script src="/webjars/sockjs-client/sockjs.min.js"></script>
+<script src="/webjars/stomp-websocket/stomp.min.js"></script>
+<script>
+    const jobId = '${jobId}';
+    let finished = false;
+
+    // 단계별 진행률(%)과 안내 문구
+    function render(job) {
+        if (finished) return;
+        let percent = 5;
+        let text = '분석 대기 중입니다...';
+        switch (job.stage) {
+            case 'started':   percent = 10; text = '이력서를 읽고 있습니다...'; break;
+            case 'extracted': percent = 20; text = '텍스트 추출 완료, AI 요약을 시작합니다...'; break;
+            case 'chunk':
+                percent = 20 + Math.round(60 * job.completedChunks / Math.max(1, job.totalChunks));
+                text = '이력서 요약 중... (' + job.completedChunks + '/' + job.totalChunks + ')';
+                break;
+            case 'streaming': percent = 85; text = '최종 STAR 분석을 작성하고 있습니다...'; break;
+            case 'final':     percent = 95; text = '최종 STAR 분석 완료...'; break;
+            case 'saving':
+            case 'saved':
+            case 'save-failed': percent = 100; text = '분석이 완료되었습니다.'; break;
+        }
+        document.getElementById('progressBar').style.width = percent + '%';
+        document.getElementById('stageText').textContent = text;
+
+        if (job.status === 'DONE') {
+            finished = true;
+            location.href = '/resume/jobs/' + jobId + '/result';
+        } else if (job.status === 'FAILED') {
+            finished = true;
+            const errorBox = document.getElementById('errorBox');
+            errorBox.textContent = job.message || '이력서 분석 중 오류가 발생했습니다.';
+            errorBox.classList.remove('d-none');
+        }
+    }
+
+    // 최종 분석 응답을 생성되는 대로 보여주는 SSE 스트림 (진행 상황도 함께 전달)
+    function appendPreview(text) {
+        const preview = document.getElementById('livePreview');
+        document.getElementById('livePreviewBox').classList.remove('d-none');
+        preview.textContent += text;
+        preview.scrollTop = preview.scrollHeight;
+    }
+
+    if (window.EventSource) {
+        const eventSource = new EventSource('/resume/jobs/' + jobId + '/stream');
+        eventSource.addEventListener('progress', function (e) { render(JSON.parse(e.data)); });
+        eventSource.addEventListener('token', function (e) { appendPreview(e.data); });
+        eventSource.onerror = function () { eventSource.close(); }; // 작업이 끝나 서버가 닫은 경우 포함
+    }
+
+    // WebSocket 이 끊기거나 쓸 수 없어도 진행되도록 폴링을 함께 사용
+    function poll() {
+        if (finished) return;
+        fetch('/resume/jobs/' + jobId)
+            .then(res => res.ok ? res.json() : null)
+            .then(job => { if (job) render(job); })
+            .catch(() => {})
+            .finally(() => { if (!finished) setTimeout(poll, 3000); });
+    }
+
+    try {
+        const stompClient = Stomp.over(new SockJS('/ws'));
+        stompClient.debug = null;
+        stompClient.connect({}, function () {
+            stompClient.subscribe('/topic/analysis-jobs/' + jobId, function (message) {
+                render(JSON.parse(message.body));
+            });
+        });
+    } catch (e) {
+        console.log('WebSocket 연결 실패, 폴링으로 진행합니다.', e);
+    }
+    poll();
+</script>
+</body>
+</html>
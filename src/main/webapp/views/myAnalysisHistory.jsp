@@ -132,18 +132,12 @@
                         <strong>분석 날짜:</strong> ${item.analysisDate}
                     </div>
                     <div class="actions">
-                            <%-- 원본 파일이 S3에 저장되어 있고 경로가 'N/A'가 아니라면 다운로드 링크 제공 --%>
-                        <c:if test="${not empty item.s3ResumePath && item.s3ResumePath != 'N/A'}">
-                            <%-- MainController에서 s3ResumeFileUrl을 생성하여 전달하는 경우 --%>
+                            <%-- 원본 파일이 저장되어 있으면 다운로드 링크 제공 (MainController 에서 만든 pre-signed URL) --%>
+                        <c:if test="${not empty item.s3ResumeFileUrl}">
                             <a href="${item.s3ResumeFileUrl}"
                                target="_blank" class="btn btn-info btn-sm">
                                 <i class="fas fa-download me-1"></i>원본 파일 보기
                             </a>
-                            <%-- 또는 MainController에서 직접 S3 URL을 구성했다면 (보안 취약) --%>
-                            <%-- <a href="https://smresumebucket.s3.ap-northeast-2.amazonaws.com/${item.s3ResumePath}"
-                               target="_blank" class="btn btn-info btn-sm">
-                                <i class="fas fa-download me-1"></i>원본 파일 보기
-                            </a> --%>
                         </c:if>
                             <%-- analysisId를 이용해 상세 보기 페이지로 링크 --%>
                         <a href="/my-analysis/${item.analysisId}" class="btn btn-primary btn-sm">
@@ -160,6 +154,25 @@
         </ul>
     </c:if>
 
+    <%-- 이전/다음 페이지 (커서 기반) --%>
+    <c:if test="${not empty prevCursor || not empty nextCursor}">
+        <nav class="d-flex justify-content-between mt-3">
+            <c:choose>
+                <c:when test="${not empty prevCursor}">
+                    <a href="/my-analysis-history?cursor=${prevCursor}" class="btn btn-outline-secondary btn-sm">
+                        <i class="fas fa-chevron-left me-1"></i>이전
+                    </a>
+                </c:when>
+                <c:otherwise><span></span></c:otherwise>
+            </c:choose>
+            <c:if test="${not empty nextCursor}">
+                <a href="/my-analysis-history?cursor=${nextCursor}" class="btn btn-outline-secondary btn-sm">
+                    다음<i class="fas fa-chevron-right ms-1"></i>
+                </a>
+            </c:if>
+        </nav>
+    </c:if>
+
     <div class="mt-4 text-center">
         <a href="/resume/input" class="btn btn-success me-2"><i class="fas fa-magic me-1"></i>새 이력서 분석하기</a>
         <a href="/" class="btn btn-secondary"><i class="fas fa-home me-1"></i>홈으로 돌아가기</a>
@@ -120,6 +120,13 @@
         </c:if>
     </header>
 
+    <c:if test="${not empty warningMessage}">
+        <div class="alert alert-warning" role="alert">${warningMessage}</div>
+    </c:if>
+    <c:if test="${not empty errorMessage}">
+        <div class="alert alert-danger" role="alert">${errorMessage}</div>
+    </c:if>
+
     <section class="analysis-result">
         <h2><i class="fas fa-lightbulb me-2"></i>분석 상세 내용</h2>
 
@@ -145,6 +152,31 @@
         </div>
     </section>
 
+    <%-- 저장된 분석이면 같은 이력서를 다른 목표 직무로 다시 분석 (저장된 추출 텍스트 사용, 파일 다시 올릴 필요 없음) --%>
+    <c:if test="${not empty analysisId}">
+        <form action="/my-analysis/${analysisId}/reanalyze" method="post" class="row g-2 align-items-center justify-content-center mt-4">
+            <div class="col-auto">
+                <label for="reanalyzeTargetJob" class="col-form-label">다른 직무로 다시 분석</label>
+            </div>
+            <div class="col-auto">
+                <select class="form-select" id="reanalyzeTargetJob" name="targetJob" required>
+                    <option value="">-- 선택하세요 --</option>
+                    <option value="소프트웨어 엔지니어 (백엔드)">소프트웨어 엔지니어 (백엔드)</option>
+                    <option value="소프트웨어 엔지니어 (프론트엔드)">소프트웨어 엔지니어 (프론트엔드)</option>
+                    <option value="데이터 분석가">데이터 분석가</option>
+                    <option value="웹 개발자">웹 개발자</option>
+                    <option value="마케팅 담당자">마케팅 담당자</option>
+                    <option value="기획자">기획자</option>
+                </select>
+            </div>
+            <div class="col-auto">
+                <button type="submit" class="btn btn-outline-primary">
+                    <i class="fas fa-sync-alt me-1"></i>재분석
+                </button>
+            </div>
+        </form>
+    </c:if>
+
     <div class="result-actions">
         <a href="/resume/input"><i class="fas fa-redo me-1"></i>다시 분석하기</a>
         <a href="/"><i class="fas fa-home me-1"></i>홈으로 돌아가기</a>
@@ -0,0 +1,77 @@
+package me.kwakinsung.smresume.app.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// ResumeTextChunker 의 정리/분할 규칙 (샘플 이력서 비교 표는 loadtest 의 ChunkTokenReportTest)
+class ResumeTextChunkerTest {
+
+    private static final int TOKEN_BUDGET = 100; // ResumeTextChunker 가 허용하는 최소 예산
+
+    private final ResumeTextChunker chunker = new ResumeTextChunker(TOKEN_BUDGET);
+
+    @Test
+    void keepsHeadingWithFollowingParagraph() {
+        String intro = "백엔드 개발자로 일했습니다. ".repeat(5).strip();
+        String career = "주문 시스템을 만들었습니다. ".repeat(5).strip();
+        String text = intro + "\n\n경력\n\n" + career;
+
+        List<String> chunks = chunker.chunk(text);
+
+        assertEquals(2, chunks.size(), chunks.toString());
+        assertEquals(intro, chunks.get(0));
+        assertEquals("경력\n" + career, chunks.get(1));
+    }
+
+    @Test
+    void splitsOverlongSentenceAtWordBoundaries() {
+        String sentence = IntStream.range(0, 300).mapToObj(i -> "word" + i).collect(Collectors.joining(" "));
+
+        List<String> chunks = chunker.chunk(sentence);
+
+        assertTrue(chunks.size() > 1, chunks.toString());
+        chunks.forEach(chunk -> assertTrue(ResumeTextChunker.estimateTokens(chunk) <= TOKEN_BUDGET, chunk));
+        List<String> words = chunks.stream()
+                .flatMap(chunk -> Arrays.stream(chunk.split("\\s+")))
+                .toList();
+        assertEquals(Arrays.asList(sentence.split(" ")), words); // 단어 중간에서 자르지 않고, 빠지는 단어도 없음
+    }
+
+    @Test
+    void returnsEmptyListForBlankInput() {
+        assertTrue(chunker.chunk("").isEmpty());
+        assertTrue(chunker.chunk(null).isEmpty());
+        assertTrue(chunker.chunk(" \t\n\n \u3000\n").isEmpty());
+        assertTrue(chunker.chunk("\f\u200B\f").isEmpty());
+    }
+
+    @Test
+    void removesPdfArtifacts() {
+        String page = "홍길동 이력서\n본문 %d 입니다. data engi-\nneering 경험\n- %d -";
+        String text = String.join("\f", page.formatted(1, 1), page.formatted(2, 2), page.formatted(3, 3));
+
+        String cleaned = chunker.clean(text);
+
+        assertFalse(cleaned.contains("홍길동 이력서"), cleaned);
+        assertFalse(cleaned.contains("- 2 -"), cleaned);
+        assertTrue(cleaned.contains("본문 2 입니다."), cleaned);
+        assertTrue(cleaned.contains("data engineering 경험"), cleaned); // 줄 끝 하이픈으로 나뉜 단어를 이어 붙임
+    }
+
+    @Test
+    void keepsYearLineInsideSentence() {
+        String text = "스타트업에서 백엔드 개발자로\n2024\n년까지 근무했습니다.";
+
+        String cleaned = chunker.clean(text);
+
+        assertTrue(cleaned.contains("\n2024\n"), cleaned); // 쪽 번호(1~3자리)로 보고 지우지 않음
+    }
+}
@@ -0,0 +1,89 @@
+package me.kwakinsung.smresume.loadtest;
+
+import me.kwakinsung.smresume.app.service.ResumeTextChunker;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 샘플 이력서(src/test/resources/resumes)로 기존 1000자 분할과 ResumeTextChunker 를 비교합니다.
+// 파일별 청크 수(= 청크 요약 호출 수)와 전송 토큰(청크 + 호출마다 붙는 프롬프트)을 출력합니다.
+// 측정용 보고서라 test 가 아니라 loadTest 로 실행합니다. (gradle loadTest --tests '*ChunkTokenReportTest')
+@Tag("load")
+class ChunkTokenReportTest {
+
+    private static final int LEGACY_CHUNK_SIZE = 1000;
+    private static final int TOKEN_BUDGET = 2500;
+    // ResumeAnalysisService 의 청크 요약 프롬프트 (호출마다 추가되는 토큰)
+    private static final String CHUNK_PROMPT = """
+            너는 신입 개발자 이력서 평가 전문가야.
+            다음 이력서 내용을 STAR 기법 중심으로 요약해줘.
+            내용:
+            """;
+
+    private final ResumeTextChunker chunker = new ResumeTextChunker(TOKEN_BUDGET);
+
+    @Test
+    void reportChunkCountAndTokenReduction() throws IOException, URISyntaxException {
+        int promptTokens = ResumeTextChunker.estimateTokens(CHUNK_PROMPT);
+        int legacyChunksTotal = 0;
+        int newChunksTotal = 0;
+        long legacyTokensTotal = 0;
+        long newTokensTotal = 0;
+
+        System.out.printf("%-28s %8s %8s %10s %10s %8s%n",
+                "resume", "old#", "new#", "oldTokens", "newTokens", "saved");
+        for (Path file : corpus()) {
+            String text = Files.readString(file, StandardCharsets.UTF_8);
+
+            List<String> legacy = legacySplit(text);
+            List<String> chunks = chunker.chunk(text);
+            long legacyTokens = legacy.stream().mapToLong(c -> promptTokens + ResumeTextChunker.estimateTokens(c)).sum();
+            long newTokens = chunks.stream().mapToLong(c -> promptTokens + ResumeTextChunker.estimateTokens(c)).sum();
+
+            System.out.printf("%-28s %8d %8d %10d %10d %7.1f%%%n", file.getFileName(),
+                    legacy.size(), chunks.size(), legacyTokens, newTokens, 100.0 * (legacyTokens - newTokens) / legacyTokens);
+
+            assertFalse(chunks.isEmpty(), file + " 청크 없음");
+            assertTrue(chunks.size() <= legacy.size(), file + " 청크 수 증가");
+            chunks.forEach(c -> assertTrue(ResumeTextChunker.estimateTokens(c) <= TOKEN_BUDGET, file + " 예산 초과"));
+
+            legacyChunksTotal += legacy.size();
+            newChunksTotal += chunks.size();
+            legacyTokensTotal += legacyTokens;
+            newTokensTotal += newTokens;
+        }
+        System.out.printf("%-28s %8d %8d %10d %10d %7.1f%%%n", "TOTAL",
+                legacyChunksTotal, newChunksTotal, legacyTokensTotal, newTokensTotal,
+                100.0 * (legacyTokensTotal - newTokensTotal) / legacyTokensTotal);
+
+        assertTrue(newChunksTotal < legacyChunksTotal);
+        assertTrue(newTokensTotal < legacyTokensTotal);
+    }
+
+    // 기존 ResumeAnalysisService.splitText (1000자마다 자르기)
+    private List<String> legacySplit(String text) {
+        List<String> chunks = new ArrayList<>();
+        for (int i = 0; i < text.length(); i += LEGACY_CHUNK_SIZE) {
+            chunks.add(text.substring(i, Math.min(text.length(), i + LEGACY_CHUNK_SIZE)));
+        }
+        return chunks;
+    }
+
+    private List<Path> corpus() throws IOException, URISyntaxException {
+        Path dir = Path.of(getClass().getResource("/resumes").toURI());
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(f -> f.toString().endsWith(".txt")).sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package me.kwakinsung.smresume.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 로컬 가짜 OpenAI chat completions 엔드포인트 (POST /v1/chat/completions)
+// 응답 지연(latency-ms + 0~jitter-ms)과 오류 주입(error-rate 비율로 500, rate-limit-rate 비율로 429 + retry-after-ms)을 설정할 수 있습니다.
+// 청크 요약 요청에는 짧은 요약을, 최종 분석 요청에는 STAR JSON 을 돌려주고, stream=true 면 SSE 로 나눠 보냅니다.
+class FakeOpenAiServer implements AutoCloseable {
+
+    private static final String FINAL_RESULT_JSON = """
+            {"Situation": {"평가": "프로젝트 배경과 팀 규모가 드러나 있습니다.", "개선점": "문제 상황을 한 문장으로 먼저 제시하세요."},
+             "Task": {"평가": "맡은 역할이 명확합니다.", "개선점": "정량 목표를 함께 적으세요."},
+             "Action": {"평가": "구현 과정이 단계별로 설명되어 있습니다.", "개선점": "기술 선택 이유를 덧붙이세요."},
+             "Result": {"평가": "응답 시간 45% 감소 등 수치가 있습니다.", "개선점": "사용자/팀에 준 영향을 함께 적으세요."},
+             "총평": {"요약": "기본기와 문제 해결 경험이 잘 드러나는 이력서입니다."},
+             "확장 제안": {"STAR 사례 예시": "재고 정합성 문제를 낙관적 락으로 해결한 사례", "추가 프로젝트 제안": "이벤트 기반 주문 처리"}}
+            """;
+    private static final String CHUNK_SUMMARY = "S: 주문 시스템 성능 문제, T: 응답 시간 개선, A: 캐시/인덱스 적용, R: 응답 시간 45% 감소";
+    private static final int STREAM_PIECE_LENGTH = 24;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final long latencyMillis;
+    private final long jitterMillis;
+    private final double errorRate;
+    private final double rateLimitRate;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+    private final AtomicLong injectedRateLimits = new AtomicLong();
+
+    FakeOpenAiServer(long latencyMillis, long jitterMillis, double errorRate, double rateLimitRate) throws IOException {
+        this.latencyMillis = latencyMillis;
+        this.jitterMillis = jitterMillis;
+        this.errorRate = errorRate;
+        this.rateLimitRate = rateLimitRate;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 256);
+        this.server.createContext("/v1/chat/completions", this::handle);
+        this.server.setExecutor(executor);
+        this.server.start();
+    }
+
+    String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/v1/chat/completions";
+    }
+
+    Map<String, Long> getStats() {
+        return Map.of("requests", requests.get(),
+                "injectedErrors", injectedErrors.get(),
+                "injectedRateLimits", injectedRateLimits.get());
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requests.incrementAndGet();
+            JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+            sleep(latencyMillis + (jitterMillis > 0 ? ThreadLocalRandom.current().nextLong(jitterMillis) : 0));
+
+            double roll = ThreadLocalRandom.current().nextDouble();
+            if (roll < rateLimitRate) {
+                injectedRateLimits.incrementAndGet();
+                exchange.getResponseHeaders().set("retry-after-ms", "200");
+                sendJson(exchange, 429, Map.of("error", Map.of("message", "Rate limit reached (injected)")));
+                return;
+            }
+            if (roll < rateLimitRate + errorRate) {
+                injectedErrors.incrementAndGet();
+                sendJson(exchange, 500, Map.of("error", Map.of("message", "Internal error (injected)")));
+                return;
+            }
+
+            String prompt = request.path("messages").path(0).path("content").asText();
+            String content = prompt.contains("JSON 형식으로 반환") ? FINAL_RESULT_JSON : CHUNK_SUMMARY;
+            int totalTokens = prompt.length() / 2 + content.length() / 2;
+            if (request.path("stream").asBoolean(false)) {
+                stream(exchange, content, totalTokens);
+            } else {
+                sendJson(exchange, 200, Map.of(
+                        "choices", List.of(Map.of("index", 0, "message", Map.of("role", "assistant", "content", content))),
+                        "usage", Map.of("total_tokens", totalTokens)));
+            }
+        }
+    }
+
+    private void stream(HttpExchange exchange, String content, int totalTokens) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            for (int i = 0; i < content.length(); i += STREAM_PIECE_LENGTH) {
+                String piece = content.substring(i, Math.min(content.length(), i + STREAM_PIECE_LENGTH));
+                writeEvent(out, objectMapper.writeValueAsString(Map.of(
+                        "choices", List.of(Map.of("index", 0, "delta", Map.of("content", piece))))));
+            }
+            writeEvent(out, objectMapper.writeValueAsString(Map.of("choices", List.of(), "usage", Map.of("total_tokens", totalTokens))));
+            writeEvent(out, "[DONE]");
+        }
+    }
+
+    private void writeEvent(OutputStream out, String data) throws IOException {
+        out.write(("data: " + data + "\n\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    private void sendJson(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
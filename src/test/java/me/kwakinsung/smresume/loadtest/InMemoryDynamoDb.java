@@ -0,0 +1,216 @@
+package me.kwakinsung.smresume.loadtest;
+
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+// 메모리 DynamoDB (분석 기록 테이블 하나: PK userId(S), SK analysisTimestamp(N), GSI analysisId)
+// 조건식은 애플리케이션이 쓰는 "속성 = :값" 형태만 지원하고, 호출마다 latency-ms 만큼 지연합니다.
+class InMemoryDynamoDb {
+
+    private static final String PARTITION_KEY = "userId";
+    private static final String SORT_KEY = "analysisTimestamp";
+    private static final String INDEX_KEY = "analysisId";
+
+    private record Condition(String attribute, AttributeValue value) {
+        static Condition parse(String expression, Map<String, AttributeValue> values) {
+            String[] parts = expression.split("=");
+            if (parts.length != 2 || expression.toUpperCase().contains(" AND ")) {
+                throw new UnsupportedOperationException("지원하지 않는 조건식: " + expression);
+            }
+            return new Condition(parts[0].trim(), values.get(parts[1].trim()));
+        }
+
+        boolean matches(Map<String, AttributeValue> item) {
+            return item != null && value != null && value.equals(item.get(attribute));
+        }
+    }
+
+    private final Map<String, NavigableMap<Long, Map<String, AttributeValue>>> partitions = new ConcurrentHashMap<>();
+    private final long latencyMillis;
+    private final Executor asyncExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "in-memory-dynamodb");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    InMemoryDynamoDb(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    int size() {
+        return partitions.values().stream().mapToInt(Map::size).sum();
+    }
+
+    DynamoDbClient syncClient() {
+        return new Sync();
+    }
+
+    DynamoDbAsyncClient asyncClient() {
+        return new Async();
+    }
+
+    private PutItemResponse putItem(PutItemRequest request) {
+        delay();
+        Map<String, AttributeValue> item = Map.copyOf(request.item());
+        NavigableMap<Long, Map<String, AttributeValue>> partition = partition(item.get(PARTITION_KEY).s());
+        if (request.conditionExpression() != null && request.conditionExpression().startsWith("attribute_not_exists")) {
+            // 같은 키의 항목이 이미 있으면 실패 (덮어쓰기 방지)
+            if (partition.putIfAbsent(sortKey(item), item) != null) {
+                throw ConditionalCheckFailedException.builder().statusCode(400).message("The conditional request failed").build();
+            }
+        } else {
+            partition.put(sortKey(item), item);
+        }
+        return PutItemResponse.builder().build();
+    }
+
+    private NavigableMap<Long, Map<String, AttributeValue>> partition(String userId) {
+        return partitions.computeIfAbsent(userId, key -> new ConcurrentSkipListMap<>());
+    }
+
+    private static long sortKey(Map<String, AttributeValue> key) {
+        return Long.parseLong(key.get(SORT_KEY).n());
+    }
+
+    private void delay() {
+        if (latencyMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private class Sync implements DynamoDbClient {
+
+        @Override
+        public PutItemResponse putItem(PutItemRequest request) {
+            return InMemoryDynamoDb.this.putItem(request);
+        }
+
+        @Override
+        public GetItemResponse getItem(GetItemRequest request) {
+            delay();
+            Map<String, AttributeValue> item = partition(request.key().get(PARTITION_KEY).s()).get(sortKey(request.key()));
+            return GetItemResponse.builder().item(item).build();
+        }
+
+        @Override
+        public DeleteItemResponse deleteItem(DeleteItemRequest request) {
+            delay();
+            NavigableMap<Long, Map<String, AttributeValue>> partition = partition(request.key().get(PARTITION_KEY).s());
+            long sortKey = sortKey(request.key());
+            Map<String, AttributeValue> old;
+            synchronized (partition) {
+                old = partition.get(sortKey);
+                if (request.conditionExpression() != null
+                        && !Condition.parse(request.conditionExpression(), request.expressionAttributeValues()).matches(old)) {
+                    throw ConditionalCheckFailedException.builder().statusCode(400).message("The conditional request failed").build();
+                }
+                partition.remove(sortKey);
+            }
+            DeleteItemResponse.Builder response = DeleteItemResponse.builder();
+            if (request.returnValues() == ReturnValue.ALL_OLD && old != null) {
+                response.attributes(old);
+            }
+            return response.build();
+        }
+
+        @Override
+        public QueryResponse query(QueryRequest request) {
+            delay();
+            Map<String, AttributeValue> values = request.expressionAttributeValues();
+            Condition key = Condition.parse(request.keyConditionExpression(), values);
+            Condition filter = request.filterExpression() == null ? null : Condition.parse(request.filterExpression(), values);
+
+            List<Map<String, AttributeValue>> candidates = new ArrayList<>();
+            if (request.indexName() != null) {
+                // GSI(analysisId): 모든 파티션을 훑습니다. (부하 테스트 규모에서는 충분)
+                if (!INDEX_KEY.equals(key.attribute())) {
+                    throw new UnsupportedOperationException("지원하지 않는 인덱스 키: " + key.attribute());
+                }
+                partitions.values().forEach(partition -> partition.values().stream().filter(key::matches).forEach(candidates::add));
+            } else {
+                NavigableMap<Long, Map<String, AttributeValue>> partition = partition(key.value().s());
+                boolean forward = request.scanIndexForward() == null || request.scanIndexForward();
+                NavigableMap<Long, Map<String, AttributeValue>> ordered = forward ? partition : partition.descendingMap();
+                if (request.hasExclusiveStartKey()) {
+                    long start = sortKey(request.exclusiveStartKey());
+                    ordered = forward ? partition.tailMap(start, false) : partition.headMap(start, false).descendingMap();
+                }
+                candidates.addAll(ordered.values());
+            }
+
+            // Limit 은 필터 적용 전 읽은 항목 수 기준 (DynamoDB 와 같음)
+            int limit = request.limit() != null ? request.limit() : Integer.MAX_VALUE;
+            List<Map<String, AttributeValue>> items = new ArrayList<>();
+            Map<String, AttributeValue> lastEvaluatedKey = null;
+            for (int i = 0; i < candidates.size() && i < limit; i++) {
+                Map<String, AttributeValue> item = candidates.get(i);
+                if (filter == null || filter.matches(item)) {
+                    items.add(item);
+                }
+                if (i == limit - 1 && candidates.size() > limit) {
+                    lastEvaluatedKey = new HashMap<>();
+                    lastEvaluatedKey.put(PARTITION_KEY, item.get(PARTITION_KEY));
+                    lastEvaluatedKey.put(SORT_KEY, item.get(SORT_KEY));
+                }
+            }
+            QueryResponse.Builder response = QueryResponse.builder().items(items).count(items.size());
+            if (lastEvaluatedKey != null) {
+                response.lastEvaluatedKey(lastEvaluatedKey);
+            }
+            return response.build();
+        }
+
+        @Override
+        public String serviceName() {
+            return SERVICE_NAME;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private class Async implements DynamoDbAsyncClient {
+
+        @Override
+        public CompletableFuture<PutItemResponse> putItem(PutItemRequest request) {
+            return CompletableFuture.supplyAsync(() -> InMemoryDynamoDb.this.putItem(request), asyncExecutor);
+        }
+
+        @Override
+        public String serviceName() {
+            return SERVICE_NAME;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package me.kwakinsung.smresume.loadtest;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectResponse;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.DeletedObject;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.NoSuchUploadException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+// 메모리 S3 (버킷 구분 없이 key -> 객체)
+// 애플리케이션이 쓰는 API(put/get/delete, 멀티파트, 조건부 GET)만 구현하고, 호출마다 latency-ms 만큼 지연합니다.
+class InMemoryS3 {
+
+    private record StoredObject(byte[] bytes, String eTag, String contentType) {
+    }
+
+    private final Map<String, StoredObject> objects = new ConcurrentHashMap<>();
+    private final Map<String, ConcurrentSkipListMap<Integer, byte[]>> uploads = new ConcurrentHashMap<>();
+    private final long latencyMillis;
+    private final Executor asyncExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "in-memory-s3");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    InMemoryS3(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    int size() {
+        return objects.size();
+    }
+
+    S3Client syncClient() {
+        return new Sync();
+    }
+
+    S3AsyncClient asyncClient() {
+        return new Async();
+    }
+
+    private PutObjectResponse put(String key, byte[] bytes, String contentType) {
+        delay();
+        String eTag = "\"" + md5(bytes) + "\"";
+        objects.put(key, new StoredObject(bytes, eTag, contentType));
+        return PutObjectResponse.builder().eTag(eTag).build();
+    }
+
+    private void delete(String key) {
+        delay();
+        objects.remove(key);
+    }
+
+    private void delay() {
+        if (latencyMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static byte[] read(RequestBody body) {
+        try (InputStream in = body.contentStreamProvider().newStream()) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String md5(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private class Sync implements S3Client {
+
+        @Override
+        public PutObjectResponse putObject(PutObjectRequest request, RequestBody body) {
+            return put(request.key(), read(body), request.contentType());
+        }
+
+        @Override
+        public ResponseBytes<GetObjectResponse> getObjectAsBytes(GetObjectRequest request) {
+            delay();
+            StoredObject object = objects.get(request.key());
+            if (object == null) {
+                throw NoSuchKeyException.builder().statusCode(404).message("NoSuchKey: " + request.key()).build();
+            }
+            if (object.eTag().equals(request.ifNoneMatch())) {
+                throw S3Exception.builder().statusCode(304).message("Not Modified").build();
+            }
+            return ResponseBytes.fromByteArray(GetObjectResponse.builder()
+                    .eTag(object.eTag())
+                    .contentType(object.contentType())
+                    .contentLength((long) object.bytes().length)
+                    .build(), object.bytes());
+        }
+
+        @Override
+        public DeleteObjectResponse deleteObject(DeleteObjectRequest request) {
+            delete(request.key());
+            return DeleteObjectResponse.builder().build();
+        }
+
+        @Override
+        public DeleteObjectsResponse deleteObjects(DeleteObjectsRequest request) {
+            delay();
+            List<DeletedObject> deleted = request.delete().objects().stream()
+                    .peek(identifier -> objects.remove(identifier.key()))
+                    .map(identifier -> DeletedObject.builder().key(identifier.key()).build())
+                    .toList();
+            return DeleteObjectsResponse.builder()
+                    .deleted(Boolean.TRUE.equals(request.delete().quiet()) ? List.of() : deleted)
+                    .build();
+        }
+
+        @Override
+        public CreateMultipartUploadResponse createMultipartUpload(CreateMultipartUploadRequest request) {
+            delay();
+            String uploadId = UUID.randomUUID().toString();
+            uploads.put(uploadId, new ConcurrentSkipListMap<>());
+            return CreateMultipartUploadResponse.builder().bucket(request.bucket()).key(request.key()).uploadId(uploadId).build();
+        }
+
+        @Override
+        public UploadPartResponse uploadPart(UploadPartRequest request, RequestBody body) {
+            delay();
+            ConcurrentSkipListMap<Integer, byte[]> parts = uploads.get(request.uploadId());
+            if (parts == null) {
+                throw NoSuchUploadException.builder().statusCode(404).message("NoSuchUpload").build();
+            }
+            byte[] bytes = read(body);
+            parts.put(request.partNumber(), bytes);
+            return UploadPartResponse.builder().eTag("\"" + md5(bytes) + "\"").build();
+        }
+
+        @Override
+        public CompleteMultipartUploadResponse completeMultipartUpload(CompleteMultipartUploadRequest request) {
+            ConcurrentSkipListMap<Integer, byte[]> parts = uploads.remove(request.uploadId());
+            if (parts == null) {
+                throw NoSuchUploadException.builder().statusCode(404).message("NoSuchUpload").build();
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            for (CompletedPart part : request.multipartUpload().parts()) {
+                out.writeBytes(parts.get(part.partNumber()));
+            }
+            PutObjectResponse response = put(request.key(), out.toByteArray(), null);
+            return CompleteMultipartUploadResponse.builder().key(request.key()).eTag(response.eTag()).build();
+        }
+
+        @Override
+        public AbortMultipartUploadResponse abortMultipartUpload(AbortMultipartUploadRequest request) {
+            uploads.remove(request.uploadId());
+            return AbortMultipartUploadResponse.builder().build();
+        }
+
+        @Override
+        public String serviceName() {
+            return SERVICE_NAME;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private class Async implements S3AsyncClient {
+
+        @Override
+        public CompletableFuture<PutObjectResponse> putObject(PutObjectRequest request, AsyncRequestBody body) {
+            return collect(body).thenApplyAsync(bytes -> put(request.key(), bytes, request.contentType()), asyncExecutor);
+        }
+
+        @Override
+        public CompletableFuture<DeleteObjectResponse> deleteObject(DeleteObjectRequest request) {
+            return CompletableFuture.supplyAsync(() -> {
+                delete(request.key());
+                return DeleteObjectResponse.builder().build();
+            }, asyncExecutor);
+        }
+
+        @Override
+        public String serviceName() {
+            return SERVICE_NAME;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        // AsyncRequestBody(Publisher<ByteBuffer>)를 끝까지 읽어 byte[] 로 모읍니다.
+        private CompletableFuture<byte[]> collect(AsyncRequestBody body) {
+            CompletableFuture<byte[]> result = new CompletableFuture<>();
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            body.subscribe(new Subscriber<ByteBuffer>() {
+                @Override
+                public void onSubscribe(Subscription subscription) {
+                    subscription.request(Long.MAX_VALUE);
+                }
+
+                @Override
+                public void onNext(ByteBuffer buffer) {
+                    byte[] bytes = new byte[buffer.remaining()];
+                    buffer.get(bytes);
+                    out.writeBytes(bytes);
+                }
+
+                @Override
+                public void onError(Throwable error) {
+                    result.completeExceptionally(error);
+                }
+
+                @Override
+                public void onComplete() {
+                    result.complete(out.toByteArray());
+                }
+            });
+            return result;
+        }
+    }
+}
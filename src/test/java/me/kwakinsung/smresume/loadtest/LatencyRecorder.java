@@ -0,0 +1,82 @@
+package me.kwakinsung.smresume.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 작업 종류별 지연 시간을 모아서 처리량과 p50/p95/p99 를 출력합니다.
+class LatencyRecorder {
+
+    private final Map<String, ConcurrentLinkedQueue<Long>> samples = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> failures = new ConcurrentHashMap<>();
+    private final List<String> order = new ArrayList<>();
+
+    void record(String operation, long nanos) {
+        register(operation);
+        samples.get(operation).add(nanos);
+    }
+
+    void fail(String operation) {
+        register(operation);
+        failures.get(operation).incrementAndGet();
+    }
+
+    long count(String operation) {
+        ConcurrentLinkedQueue<Long> values = samples.get(operation);
+        return values == null ? 0 : values.size();
+    }
+
+    long failures(String operation) {
+        AtomicLong value = failures.get(operation);
+        return value == null ? 0 : value.get();
+    }
+
+    String report(long wallNanos) {
+        double seconds = wallNanos / 1_000_000_000.0;
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-16s %7s %6s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "fail", "ops/s", "p50(ms)", "p95(ms)", "p99(ms)", "max(ms)"));
+        List<String> operations;
+        synchronized (order) {
+            operations = new ArrayList<>(order);
+        }
+        for (String operation : operations) {
+            long[] values = samples.get(operation).stream().mapToLong(Long::longValue).sorted().toArray();
+            report.append(String.format("%-16s %7d %6d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    operation, values.length, failures(operation), values.length / seconds,
+                    millis(percentile(values, 50)), millis(percentile(values, 95)),
+                    millis(percentile(values, 99)), millis(values.length == 0 ? 0 : values[values.length - 1])));
+        }
+        report.append(String.format("wall time %.1fs%n", seconds));
+        return report.toString();
+    }
+
+    private void register(String operation) {
+        if (samples.containsKey(operation)) {
+            return;
+        }
+        synchronized (order) {
+            if (!samples.containsKey(operation)) {
+                failures.put(operation, new AtomicLong());
+                samples.put(operation, new ConcurrentLinkedQueue<>());
+                order.add(operation);
+            }
+        }
+    }
+
+    // nearest-rank 백분위수
+    private static long percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,293 @@
+package me.kwakinsung.smresume.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import me.kwakinsung.smresume.app.dto.UserDto;
+import me.kwakinsung.smresume.app.service.UserService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+// 업로드 → 분석 → 기록 조회 → 상세 보기 → 삭제 흐름의 오프라인 부하 테스트
+// OpenAI 는 로컬 가짜 서버(FakeOpenAiServer), S3/DynamoDB 는 메모리 구현으로 바꾸고 MySQL 없이 실행합니다.
+// 실행: gradle loadTest [-Ploadtest.users=32 -Ploadtest.iterations=10 -Ploadtest.openai.latency-ms=800 ...]
+// 설정 (기본값):
+//   loadtest.users=16                동시 사용자 수
+//   loadtest.iterations=5            사용자당 반복 횟수
+//   loadtest.openai.latency-ms=300   가짜 OpenAI 응답 지연 (+ 0~jitter-ms)
+//   loadtest.openai.jitter-ms=200
+//   loadtest.openai.error-rate=0.02  500 응답 비율
+//   loadtest.openai.rate-limit-rate=0.01  429 응답 비율
+//   loadtest.storage.latency-ms=5    S3/DynamoDB 호출 지연
+@Tag("load")
+@SpringBootTest(properties = {
+        "spring.autoconfigure.exclude="
+                + "org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration,"
+                + "org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration,"
+                + "org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration,"
+                + "org.mybatis.spring.boot.autoconfigure.MybatisAutoConfiguration,"
+                + "com.github.pagehelper.autoconfigure.PageHelperAutoConfiguration",
+        "aws.accessKeyId=loadtest",
+        "aws.secretAccessKey=loadtest",
+        "openai.api-key=loadtest",
+        "openai.retry.base-backoff-ms=100",
+        "analysis.cache.enabled=false", // 같은 이력서를 반복 업로드하므로 캐시를 끄고 매번 OpenAI 까지 호출
+        "logging.level.root=warn",
+        "logging.level.org.springframework.web.client.RestTemplate=warn"
+})
+@AutoConfigureMockMvc
+@Import(ResumeFlowLoadTest.InMemoryAwsConfig.class)
+class ResumeFlowLoadTest {
+
+    private static final int USERS = Integer.getInteger("loadtest.users", 16);
+    private static final int ITERATIONS = Integer.getInteger("loadtest.iterations", 5);
+    private static final long JOB_TIMEOUT_MILLIS = 120_000;
+    private static final String[] RESUMES = {
+            "english_fullstack_pdf.txt",
+            "korean_backend_pdf.txt",
+            "korean_junior_plain.txt",
+            "docx_frontend_extract.txt"
+    };
+
+    private static final FakeOpenAiServer OPENAI = startFakeOpenAi();
+
+    @MockitoBean // MySQL 없이 실행 (로그인은 세션에 UserDto 를 직접 넣음)
+    private UserService userService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private InMemoryS3 inMemoryS3;
+
+    @Autowired
+    private InMemoryDynamoDb inMemoryDynamoDb;
+
+    private final LatencyRecorder recorder = new LatencyRecorder();
+
+    @TestConfiguration
+    static class InMemoryAwsConfig {
+
+        @Bean
+        InMemoryS3 inMemoryS3(@Value("${loadtest.storage.latency-ms:5}") long latencyMillis) {
+            return new InMemoryS3(latencyMillis);
+        }
+
+        @Bean
+        InMemoryDynamoDb inMemoryDynamoDb(@Value("${loadtest.storage.latency-ms:5}") long latencyMillis) {
+            return new InMemoryDynamoDb(latencyMillis);
+        }
+
+        @Bean
+        @Primary
+        S3Client inMemoryS3Client(InMemoryS3 inMemoryS3) {
+            return inMemoryS3.syncClient();
+        }
+
+        @Bean
+        @Primary
+        S3AsyncClient inMemoryS3AsyncClient(InMemoryS3 inMemoryS3) {
+            return inMemoryS3.asyncClient();
+        }
+
+        @Bean
+        @Primary
+        DynamoDbClient inMemoryDynamoDbClient(InMemoryDynamoDb inMemoryDynamoDb) {
+            return inMemoryDynamoDb.syncClient();
+        }
+
+        @Bean
+        @Primary
+        DynamoDbAsyncClient inMemoryDynamoDbAsyncClient(InMemoryDynamoDb inMemoryDynamoDb) {
+            return inMemoryDynamoDb.asyncClient();
+        }
+    }
+
+    @DynamicPropertySource
+    static void openAiProperties(DynamicPropertyRegistry registry) {
+        registry.add("openai.api-url", OPENAI::url);
+    }
+
+    @AfterAll
+    static void stopFakeOpenAi() {
+        OPENAI.close();
+    }
+
+    @Test
+    void uploadHistoryAndDeleteUnderLoad() throws Exception {
+        List<byte[]> resumes = new ArrayList<>();
+        for (String name : RESUMES) {
+            resumes.add(resource("/resumes/" + name));
+        }
+
+        ExecutorService users = Executors.newFixedThreadPool(USERS);
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int u = 0; u < USERS; u++) {
+            int userIndex = u;
+            futures.add(users.submit(() -> {
+                MockHttpSession session = new MockHttpSession();
+                session.setAttribute("loginid", UserDto.builder()
+                        .userid("load-user-" + userIndex)
+                        .username("load-user-" + userIndex)
+                        .build());
+                for (int i = 0; i < ITERATIONS; i++) {
+                    runIteration(session, resumes.get((userIndex + i) % resumes.size()));
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long wallNanos = System.nanoTime() - start;
+        users.shutdown();
+        users.awaitTermination(1, TimeUnit.MINUTES);
+
+        System.out.printf("%n=== 부하 테스트: 사용자 %d명 x %d회 ===%n", USERS, ITERATIONS);
+        System.out.print(recorder.report(wallNanos));
+        System.out.println("fake openai " + OPENAI.getStats());
+        System.out.printf("남은 데이터: S3 객체 %d개, DynamoDB 항목 %d개%n", inMemoryS3.size(), inMemoryDynamoDb.size());
+
+        assertTrue(recorder.count("analysis") > 0, "완료된 분석이 없습니다.");
+    }
+
+    // 사용자 한 명의 한 바퀴: 업로드 → 저장 완료까지 폴링 → 기록 목록 → 상세 → 삭제
+    private void runIteration(MockHttpSession session, byte[] resume) {
+        long uploadStart = System.nanoTime();
+        String jobId;
+        try {
+            MvcResult result = mockMvc.perform(multipart("/resume/result")
+                            .file(new MockMultipartFile("resumeFile", "resume.txt", "text/plain", resume))
+                            .param("targetJob", "백엔드 개발자")
+                            .session(session))
+                    .andReturn();
+            jobId = (String) result.getModelAndView().getModel().get("jobId");
+            if (jobId == null) {
+                recorder.fail("upload");
+                return;
+            }
+            recorder.record("upload", System.nanoTime() - uploadStart);
+        } catch (Exception e) {
+            recorder.fail("upload");
+            return;
+        }
+
+        String analysisId = awaitSaved(session, jobId);
+        if (analysisId == null) {
+            recorder.fail("analysis");
+            return;
+        }
+        recorder.record("analysis", System.nanoTime() - uploadStart); // 업로드부터 저장 완료까지
+
+        timed("history", () -> {
+            MvcResult result = mockMvc.perform(get("/my-analysis-history").session(session)).andReturn();
+            return "myAnalysisHistory".equals(result.getModelAndView().getViewName());
+        });
+        timed("detail", () -> {
+            MvcResult result = mockMvc.perform(get("/my-analysis/" + analysisId).session(session)).andReturn();
+            return "resumeResult".equals(result.getModelAndView().getViewName());
+        });
+        timed("delete", () -> {
+            MvcResult result = mockMvc.perform(post("/my-analysis/delete/" + analysisId).session(session)).andReturn();
+            return result.getFlashMap().containsKey("successMessage");
+        });
+    }
+
+    // 작업이 저장 완료(saved)될 때까지 폴링하고 analysisId 를 돌려줍니다. (실패/시간 초과면 null)
+    private String awaitSaved(MockHttpSession session, String jobId) {
+        long deadline = System.currentTimeMillis() + JOB_TIMEOUT_MILLIS;
+        try {
+            while (System.currentTimeMillis() < deadline) {
+                MvcResult result = mockMvc.perform(get("/resume/jobs/" + jobId).session(session)).andReturn();
+                JsonNode job = objectMapper.readTree(result.getResponse().getContentAsByteArray());
+                String stage = job.path("stage").asText();
+                if ("saved".equals(stage)) {
+                    return job.path("analysisId").asText(null);
+                }
+                if ("FAILED".equals(job.path("status").asText()) || "save-failed".equals(stage)) {
+                    return null;
+                }
+                Thread.sleep(20);
+            }
+        } catch (Exception e) {
+            return null;
+        }
+        return null;
+    }
+
+    private interface Step {
+        boolean run() throws Exception;
+    }
+
+    private void timed(String operation, Step step) {
+        long start = System.nanoTime();
+        try {
+            if (step.run()) {
+                recorder.record(operation, System.nanoTime() - start);
+            } else {
+                recorder.fail(operation);
+            }
+        } catch (Exception e) {
+            recorder.fail(operation);
+        }
+    }
+
+    private static FakeOpenAiServer startFakeOpenAi() {
+        try {
+            return new FakeOpenAiServer(
+                    Long.getLong("loadtest.openai.latency-ms", 300),
+                    Long.getLong("loadtest.openai.jitter-ms", 200),
+                    Double.parseDouble(System.getProperty("loadtest.openai.error-rate", "0.02")),
+                    Double.parseDouble(System.getProperty("loadtest.openai.rate-limit-rate", "0.01")));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] resource(String name) throws IOException {
+        try (InputStream in = ResumeFlowLoadTest.class.getResourceAsStream(name)) {
+            if (in == null) {
+                throw new IOException("샘플 파일이 없습니다: " + name);
+            }
+            return in.readAllBytes();
+        }
+    }
+}